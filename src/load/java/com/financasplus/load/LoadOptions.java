@@ -0,0 +1,100 @@
+package com.financasplus.load;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parâmetros do teste de carga, lidos das propriedades load.* (argumentos --load.x=y)
+ *   load.sessions              sessões simultâneas, cada uma com o seu usuário (20)
+ *   load.transactions-per-user transações criadas para cada usuário antes da carga (1000)
+ *   load.warmup / load.duration aquecimento descartado e duração medida (10s / 60s)
+ *   load.think-time            pausa média entre requisições, com distribuição exponencial (200ms)
+ *   load.mix                   peso de cada fluxo (login, dashboard, transactions, reports, add, edit, delete)
+ *   load.slo                   limites por endpoint, ex.: dashboard:p99<=250ms,*:max<=2s
+ *   load.max-error-rate        fração máxima de respostas com erro (0.01)
+ *   load.output-dir            histogramas gravados ao final (target/load)
+ */
+record LoadOptions(int sessions, int transactionsPerUser, Duration warmup, Duration duration,
+                   Duration thinkTime, Map<String, Integer> mix, List<Slo> slos, double maxErrorRate,
+                   Path outputDir) {
+
+    static final List<String> FLOWS = List.of("login", "dashboard", "transactions", "reports", "add", "edit", "delete");
+
+    private static final String DEFAULT_MIX = "login=2,dashboard=25,transactions=30,reports=15,add=12,edit=10,delete=6";
+
+    static LoadOptions from(Environment environment) {
+        return new LoadOptions(
+                environment.getProperty("load.sessions", Integer.class, 20),
+                environment.getProperty("load.transactions-per-user", Integer.class, 1000),
+                duration(environment, "load.warmup", "10s"),
+                duration(environment, "load.duration", "60s"),
+                duration(environment, "load.think-time", "200ms"),
+                mix(environment.getProperty("load.mix", DEFAULT_MIX)),
+                slos(environment.getProperty("load.slo", "")),
+                environment.getProperty("load.max-error-rate", Double.class, 0.01),
+                Path.of(environment.getProperty("load.output-dir", "target/load")));
+    }
+
+    private static Duration duration(Environment environment, String key, String defaultValue) {
+        return DurationStyle.detectAndParse(environment.getProperty(key, defaultValue));
+    }
+
+    private static Map<String, Integer> mix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2 || !FLOWS.contains(parts[0].trim())) {
+                throw new IllegalArgumentException("Fluxo inválido em load.mix: " + entry + " (use " + FLOWS + ")");
+            }
+            mix.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("load.mix precisa de ao menos um fluxo com peso positivo");
+        }
+        return mix;
+    }
+
+    private static List<Slo> slos(String value) {
+        List<Slo> slos = new ArrayList<>();
+        for (String entry : value.split(",")) {
+            if (!entry.isBlank()) {
+                slos.add(Slo.parse(entry.trim()));
+            }
+        }
+        return slos;
+    }
+
+    /**
+     * Limite de latência de um endpoint (ou de todos, com *) em um percentil; max é o percentil 100
+     */
+    record Slo(String endpoint, double percentile, Duration limit) {
+
+        static Slo parse(String value) {
+            int colon = value.indexOf(':');
+            int operator = value.indexOf("<=");
+            if (colon < 0 || operator < colon) {
+                throw new IllegalArgumentException("SLO inválido: " + value + " (ex.: dashboard:p99<=250ms)");
+            }
+            String percentile = value.substring(colon + 1, operator).trim();
+            double parsed = percentile.equals("max") ? 100.0 : Double.parseDouble(percentile.substring(1));
+            return new Slo(value.substring(0, colon).trim(), parsed,
+                    DurationStyle.detectAndParse(value.substring(operator + 2).trim()));
+        }
+
+        boolean appliesTo(String name) {
+            return endpoint.equals("*") || endpoint.equals(name);
+        }
+
+        String label() {
+            return percentile == 100.0 ? "max" : "p" + (percentile == Math.rint(percentile)
+                    ? String.valueOf((int) percentile) : String.valueOf(percentile));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.financasplus.load;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Uma sessão simulada: faz login e repete os fluxos da aplicação, sorteados pelos pesos
+ * de load.mix, com uma pausa exponencial entre as requisições, até o fim do teste
+ * O fluxo login sai da sessão e entra de novo (logout e login)
+ * Cada requisição é medida separadamente (os formulários de add e edit contam como add-form
+ * e edit-form); os ids usados em edit e delete vêm da última listagem de transações
+ */
+final class LoadSession implements Runnable {
+
+    private static final Pattern EDIT_LINK = Pattern.compile("/transactions/edit/(\\d+)");
+
+    private final LoadTest test;
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private final List<Long> categoryIds;
+    private final List<YearMonth> months;
+    private final long deadlineNanos;
+    private final Random random;
+    private final HttpClient client = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+    private final List<Long> transactionIds = new ArrayList<>();
+
+    LoadSession(LoadTest test, String baseUrl, String username, String password, List<Long> categoryIds,
+                List<YearMonth> months, long deadlineNanos, long seed) {
+        this.test = test;
+        this.baseUrl = baseUrl;
+        this.username = username;
+        this.password = password;
+        this.categoryIds = categoryIds;
+        this.months = months;
+        this.deadlineNanos = deadlineNanos;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public void run() {
+        try {
+            think();
+            login();
+            while (System.nanoTime() < deadlineNanos) {
+                think();
+                switch (test.nextFlow(random)) {
+                    case "login" -> {
+                        send("logout", get("/logout"));
+                        think();
+                        login();
+                    }
+                    case "dashboard" -> send("dashboard", get("/dashboard"));
+                    case "transactions" -> listTransactions();
+                    case "reports" -> send("reports", get("/reports?month=" + months.get(random.nextInt(months.size()))));
+                    case "add" -> {
+                        send("add-form", get("/transactions/add"));
+                        think();
+                        send("add", post("/transactions/add", form()));
+                    }
+                    case "edit" -> {
+                        Long id = knownTransaction();
+                        send("edit-form", get("/transactions/edit/" + id));
+                        think();
+                        send("edit", post("/transactions/edit/" + id, form()));
+                    }
+                    case "delete" -> {
+                        Long id = knownTransaction();
+                        transactionIds.remove(id);
+                        send("delete", get("/transactions/delete/" + id));
+                    }
+                    default -> throw new IllegalStateException("Fluxo desconhecido");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void login() throws InterruptedException {
+        send("login", post("/login", Map.of("username", username, "password", password)));
+    }
+
+    private void listTransactions() throws InterruptedException {
+        String body = send("transactions", get("/transactions"));
+        if (body == null) {
+            return;
+        }
+        transactionIds.clear();
+        Matcher matcher = EDIT_LINK.matcher(body);
+        while (matcher.find()) {
+            transactionIds.add(Long.valueOf(matcher.group(1)));
+        }
+    }
+
+    /**
+     * Id de uma transação do usuário; sem nenhuma conhecida, lista as transações antes
+     */
+    private Long knownTransaction() throws InterruptedException {
+        if (transactionIds.isEmpty()) {
+            listTransactions();
+            think();
+        }
+        if (transactionIds.isEmpty()) {
+            throw new IllegalStateException("Usuário " + username + " sem transações para editar");
+        }
+        return transactionIds.get(random.nextInt(transactionIds.size()));
+    }
+
+    private Map<String, String> form() {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("description", "Carga " + random.nextInt(1_000_000));
+        form.put("amount", BigDecimal.valueOf(100 + random.nextInt(50_000), 2).toPlainString());
+        form.put("categoryId", categoryIds.get(random.nextInt(categoryIds.size())).toString());
+        form.put("type", random.nextInt(10) < 3 ? "RECEITA" : "DESPESA");
+        form.put("date", LocalDate.now().minusDays(random.nextInt(365)).toString());
+        return form;
+    }
+
+    /**
+     * Envia a requisição, registra a latência e retorna o corpo (null em caso de erro)
+     */
+    private String send(String endpoint, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            boolean ok = response.statusCode() < 400;
+            test.record(endpoint, System.nanoTime() - start, ok);
+            return ok ? response.body() : null;
+        } catch (IOException e) {
+            test.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        }
+    }
+
+    private void think() throws InterruptedException {
+        long mean = test.options().thinkTime().toMillis();
+        if (mean > 0) {
+            // Exponencial com a média configurada, limitada a dez vezes a média
+            Thread.sleep((long) Math.min(-mean * Math.log(1 - random.nextDouble()), 10.0 * mean));
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, Map<String, String> form) {
+        String body = form.entrySet().stream()
+                .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,250 @@
+package com.financasplus.load;
+
+import com.financasplus.FinancasPlusApplication;
+import com.financasplus.model.Category;
+import com.financasplus.model.Transaction;
+import com.financasplus.model.User;
+import com.financasplus.service.CategoryRegistry;
+import com.financasplus.service.TransactionService;
+import com.financasplus.service.UserService;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Teste de carga: sobe a aplicação com o servidor embutido em uma porta livre do localhost e
+ * banco H2 em memória, cria um usuário com transações para cada sessão e roda as sessões
+ * simultâneas (LoadSession) pelo tempo configurado (LoadOptions)
+ * Ao final imprime vazão e p50/p95/p99/max por endpoint, grava os histogramas em
+ * load.output-dir (results.hlog com todos os endpoints e um .hgrm por endpoint) e termina
+ * com código 1 se algum SLO ou a taxa máxima de erros não for atendido
+ */
+public final class LoadTest {
+
+    /**
+     * Maior latência registrada nos histogramas (microssegundos)
+     */
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final int SEED_BATCH = 1000;
+
+    private final LoadOptions options;
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final List<String> flows = new ArrayList<>();
+    private volatile boolean measuring;
+
+    private LoadTest(LoadOptions options) {
+        this.options = options;
+        options.mix().forEach((flow, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                flows.add(flow);
+            }
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Propriedades do sistema têm precedência sobre application.properties; os argumentos, sobre elas
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        System.setProperty("server.port", "0");
+        System.setProperty("spring.main.banner-mode", "off");
+        System.setProperty("spring.datasource.url", "jdbc:h2:mem:load;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        System.setProperty("logging.level.root", "WARN");
+        System.setProperty("logging.level.com.financasplus", "WARN");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(FinancasPlusApplication.class).run(args);
+        boolean passed;
+        try {
+            LoadTest test = new LoadTest(LoadOptions.from(context.getEnvironment()));
+            passed = test.run(context);
+        } finally {
+            context.close();
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private boolean run(ConfigurableApplicationContext context) throws InterruptedException, IOException {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        List<Long> categoryIds = context.getBean(CategoryRegistry.class).findAll().stream().map(Category::getId).toList();
+        List<YearMonth> months = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            months.add(YearMonth.now().minusMonths(i));
+        }
+
+        System.out.printf("Criando %d usuários com %d transações cada...%n", options.sessions(), options.transactionsPerUser());
+        for (int i = 0; i < options.sessions(); i++) {
+            seedUser(context, "carga" + i, i);
+        }
+
+        long start = System.nanoTime();
+        long measureStart = start + options.warmup().toNanos();
+        long deadline = measureStart + options.duration().toNanos();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < options.sessions(); i++) {
+            LoadSession session = new LoadSession(this, "http://localhost:" + port, "carga" + i, "carga",
+                    categoryIds, months, deadline, i);
+            Thread thread = new Thread(session, "load-session-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+
+        System.out.printf("%d sessões: aquecimento de %s e medição de %s%n", options.sessions(),
+                options.warmup(), options.duration());
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, measureStart - System.nanoTime()));
+        long measuredAt = System.currentTimeMillis();
+        recorders.values().forEach(Recorder::getIntervalHistogram);
+        measuring = true;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        measuring = false;
+        double seconds = (System.nanoTime() - measureStart) / 1e9;
+
+        Map<String, Histogram> histograms = new TreeMap<>();
+        recorders.forEach((endpoint, recorder) -> histograms.put(endpoint, recorder.getIntervalHistogram()));
+        write(histograms, measuredAt);
+        return report(histograms, seconds);
+    }
+
+    /**
+     * Fluxo sorteado pelos pesos de load.mix
+     */
+    String nextFlow(Random random) {
+        return flows.get(random.nextInt(flows.size()));
+    }
+
+    /**
+     * Registra uma requisição; no aquecimento, só alimenta o histograma que será descartado
+     */
+    void record(String endpoint, long nanos, boolean ok) {
+        recorders.computeIfAbsent(endpoint, e -> new Recorder(HIGHEST_LATENCY_MICROS, 3))
+                .recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_LATENCY_MICROS));
+        if (!ok && measuring) {
+            errors.computeIfAbsent(endpoint, e -> new LongAdder()).increment();
+        }
+    }
+
+    LoadOptions options() {
+        return options;
+    }
+
+    private void seedUser(ConfigurableApplicationContext context, String username, int seed) {
+        User user = context.getBean(UserService.class)
+                .createUser(new User(username, "carga", username + "@financasplus.local", "Usuário de carga " + seed));
+        List<Category> categories = context.getBean(CategoryRegistry.class).findAll();
+        TransactionService transactionService = context.getBean(TransactionService.class);
+        Random random = new Random(seed);
+        List<Transaction> batch = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < options.transactionsPerUser(); i++) {
+            boolean income = random.nextInt(10) < 3;
+            batch.add(new Transaction(user, categories.get(random.nextInt(categories.size())),
+                    income ? Transaction.TransactionType.RECEITA : Transaction.TransactionType.DESPESA,
+                    (income ? "Receita " : "Despesa ") + i, BigDecimal.valueOf(100 + random.nextInt(100_000), 2),
+                    LocalDate.now().minusDays(random.nextInt(365)).atStartOfDay()));
+            if (batch.size() == SEED_BATCH || i == options.transactionsPerUser() - 1) {
+                transactionService.createTransactions(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Grava results.hlog (um histograma por endpoint, identificado pela tag) e um .hgrm por endpoint
+     */
+    private void write(Map<String, Histogram> histograms, long measuredAt) throws IOException {
+        Files.createDirectories(options.outputDir());
+        try (PrintStream log = new PrintStream(options.outputDir().resolve("results.hlog").toFile())) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(measuredAt);
+            writer.setBaseTime(measuredAt);
+            writer.outputLegend();
+            for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+                Histogram histogram = entry.getValue();
+                histogram.setTag(entry.getKey());
+                writer.outputIntervalHistogram(histogram);
+            }
+        }
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            try (PrintStream out = new PrintStream(options.outputDir().resolve(entry.getKey() + ".hgrm").toFile())) {
+                // Valores em milissegundos
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    /**
+     * Imprime o resumo por endpoint e confere os SLOs e a taxa de erros
+     */
+    private boolean report(Map<String, Histogram> histograms, double seconds) {
+        System.out.printf(Locale.ROOT, "%n%-12s %9s %9s %7s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long requests = 0;
+        long failed = 0;
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            long errorCount = errorCount(entry.getKey());
+            requests += histogram.getTotalCount();
+            failed += errorCount;
+            System.out.printf(Locale.ROOT, "%-12s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), histogram.getTotalCount(), histogram.getTotalCount() / seconds, errorCount,
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(95)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getMaxValue()));
+        }
+        System.out.printf(Locale.ROOT, "%-12s %9d %9.1f %7d%n", "total", requests, requests / seconds, failed);
+        System.out.println("Histogramas gravados em " + options.outputDir().toAbsolutePath());
+
+        List<String> violations = new ArrayList<>();
+        for (LoadOptions.Slo slo : options.slos()) {
+            histograms.forEach((endpoint, histogram) -> {
+                if (!slo.appliesTo(endpoint) || histogram.getTotalCount() == 0) {
+                    return;
+                }
+                long value = slo.percentile() == 100.0 ? histogram.getMaxValue()
+                        : histogram.getValueAtPercentile(slo.percentile());
+                if (value > slo.limit().toNanos() / 1000) {
+                    violations.add(String.format(Locale.ROOT, "%s: %s de %.2f ms, acima de %d ms",
+                            endpoint, slo.label(), millis(value), slo.limit().toMillis()));
+                }
+            });
+        }
+        if (requests > 0 && (double) failed / requests > options.maxErrorRate()) {
+            violations.add(String.format(Locale.ROOT, "taxa de erros de %.2f%%, acima de %.2f%%",
+                    100.0 * failed / requests, 100.0 * options.maxErrorRate()));
+        }
+        if (!violations.isEmpty()) {
+            System.out.println("\nSLOs não atendidos:");
+            violations.forEach(violation -> System.out.println("  " + violation));
+            return false;
+        }
+        System.out.println(options.slos().isEmpty() ? "Nenhum SLO configurado" : "SLOs atendidos");
+        return true;
+    }
+
+    private long errorCount(String endpoint) {
+        LongAdder count = errors.get(endpoint);
+        return count == null ? 0 : count.sum();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -2,12 +2,15 @@ package com.financasplus;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Classe principal da aplicação Finanças+
  * Ponto de entrada para a aplicação Spring Boot
+ * O agendamento é usado pelos snapshots periódicos das estruturas em memória (SnapshotService)
  */
 @SpringBootApplication
+@EnableScheduling
 public class FinancasPlusApplication {
 
     public static void main(String[] args) {
@@ -2,20 +2,35 @@ package com.financasplus.config;
 
 import com.financasplus.model.Category;
 import com.financasplus.repository.CategoryRepository;
+import com.financasplus.service.CategoryRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Classe responsável por inicializar dados padrão na aplicação
- * Executa automaticamente quando a aplicação inicia
+ * Executa automaticamente quando a aplicação inicia; no perfil seed, gera também
+ * a massa de dados sintética (DatasetSeeder)
  */
 @Component
 public class DataInitializer implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Autowired(required = false)
+    private DatasetSeeder datasetSeeder;
+
     /**
      * Método executado automaticamente na inicialização da aplicação
      */
@@ -24,6 +39,11 @@ public class DataInitializer implements CommandLineRunner {
         // Verifica se já existem categorias no banco
         if (categoryRepository.count() == 0) {
             initializeDefaultCategories();
+            // Atualiza o registro em memória com as categorias recém-criadas
+            categoryRegistry.reload();
+        }
+        if (datasetSeeder != null) {
+            datasetSeeder.seed();
         }
     }
 
@@ -42,13 +62,13 @@ public class DataInitializer implements CommandLineRunner {
             {"Outros", "Outros gastos", "#D4A5A5"}
         };
 
-        // Criar e salvar cada categoria
+        // Criar e salvar as categorias em uma única operação
+        List<Category> categories = new ArrayList<>(categoriesData.length);
         for (String[] catData : categoriesData) {
-            Category category = new Category(catData[0], catData[1], catData[2]);
-            categoryRepository.save(category);
-            System.out.println("✓ Categoria criada: " + catData[0]);
+            categories.add(new Category(catData[0], catData[1], catData[2]));
         }
+        categoryRepository.saveAll(categories);
 
-        System.out.println("\n✓ Categorias padrão inicializadas com sucesso!");
+        log.info("Categorias padrão inicializadas: {}", categories.stream().map(Category::getName).toList());
     }
 }
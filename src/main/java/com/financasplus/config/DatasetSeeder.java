@@ -0,0 +1,469 @@
+package com.financasplus.config;
+
+import com.financasplus.model.Category;
+import com.financasplus.model.Transaction;
+import com.financasplus.service.CategoryRegistry;
+import com.financasplus.service.UserService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera uma massa de dados sintética para benchmarks e testes de carga (perfil seed):
+ * financas.seed.users usuários com financas.seed.transactions-per-user transações cada,
+ * distribuídas em financas.seed.years anos até hoje
+ * Cada usuário tem salário mensal (e 13º em dezembro), rendas extras eventuais e despesas
+ * concentradas em alimentação e transporte, com mais gastos em dezembro, janeiro e julho e
+ * descrições em português. Os dados de cada usuário dependem só da semente e do índice do usuário,
+ * então o resultado é o mesmo com qualquer quantidade de threads; os usuários são divididos entre
+ * as threads, que inserem as transações em ordem de data, em lotes JDBC de comandos com várias linhas
+ * e ids reservados da sequência; o ledger e os totais mensais são somados durante a geração e
+ * gravados junto (conferíveis com --ledger=verify e --rollups=verify)
+ * Não faz nada se os usuários da massa já existirem (banco em arquivo)
+ * A reserva dos ids (leitura da sequência seguida de ALTER SEQUENCE) não é atômica: só é segura se
+ * nada mais inserir transações durante a geração. Por isso não sobe com financas.cluster.enabled (outra
+ * instância poderia usar a sequência) e, na instância única, roda antes de /readyz aceitar tráfego
+ */
+@Component
+@Profile("seed")
+public class DatasetSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetSeeder.class);
+
+    private static final String USERNAME_PREFIX = "usuario";
+
+    private static final String INSERT_USER_SQL = "INSERT INTO users "
+            + "(username, password, email, full_name, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_TRANSACTIONS_SQL = "INSERT INTO transactions "
+            + "(id, user_id, category_id, type, description, amount, date, created_at, updated_at) VALUES ";
+
+    private static final String TRANSACTION_VALUES = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_LEDGER_SQL = "INSERT INTO user_ledgers "
+            + "(user_id, total_income, total_expenses, balance, updated_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ROLLUP_SQL = "INSERT INTO monthly_rollups "
+            + "(user_id, reference_month, category_id, type, total, transaction_count) VALUES (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Linhas por comando INSERT: menos comandos a executar por lote
+     */
+    private static final int ROWS_PER_STATEMENT = 100;
+
+    /**
+     * Incremento da sequência das transações (allocationSize em Transaction)
+     */
+    private static final int SEQUENCE_INCREMENT = 50;
+
+    /**
+     * Peso de cada mês do ano no sorteio das despesas (janeiro a dezembro)
+     */
+    private static final double[] SEASONALITY = {1.15, 1.05, 1.0, 0.95, 1.0, 0.95, 1.10, 1.0, 0.95, 1.0, 1.10, 1.35};
+
+    private static final String[] FIRST_NAMES = {"Ana", "Bruno", "Camila", "Diego", "Eduarda", "Felipe", "Gabriela",
+            "Henrique", "Isabela", "João", "Larissa", "Lucas", "Mariana", "Pedro", "Rafaela", "Thiago"};
+
+    private static final String[] LAST_NAMES = {"Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+            "Alves", "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho"};
+
+    private static final String[] EXTRA_INCOME = {"Freelance", "Rendimento da poupança", "Venda de item usado",
+            "Reembolso", "Dividendos", "Cashback do cartão"};
+
+    /**
+     * Perfil de despesa das categorias padrão: peso no sorteio, valor mediano e descrições
+     */
+    private static final Map<String, ExpenseProfile> EXPENSES = Map.of(
+            "Alimentação", new ExpenseProfile(34, 45.0, new String[]{"Supermercado Pão de Açúcar", "Padaria",
+                    "iFood", "Feira livre", "Restaurante por quilo", "Açougue", "Hortifruti", "Lanchonete"}),
+            "Transporte", new ExpenseProfile(20, 28.0, new String[]{"Uber", "Ônibus", "Metrô",
+                    "Posto Ipiranga", "Estacionamento", "Pedágio", "99 Táxi"}),
+            "Lazer", new ExpenseProfile(12, 80.0, new String[]{"Cinema", "Netflix", "Spotify", "Show",
+                    "Bar com amigos", "Viagem de fim de semana", "Livraria"}),
+            "Contas Fixas", new ExpenseProfile(14, 190.0, new String[]{"Aluguel", "Conta de luz", "Conta de água",
+                    "Internet", "Plano de celular", "Condomínio", "Gás"}),
+            "Saúde", new ExpenseProfile(8, 120.0, new String[]{"Farmácia Drogasil", "Consulta médica",
+                    "Plano de saúde", "Dentista", "Academia", "Exame laboratorial"}),
+            "Educação", new ExpenseProfile(6, 240.0, new String[]{"Mensalidade da faculdade", "Curso de inglês",
+                    "Material escolar", "Curso online", "Livros técnicos"}),
+            "Outros", new ExpenseProfile(6, 60.0, new String[]{"Presente de aniversário", "Pet shop",
+                    "Lavanderia", "Manutenção da casa", "Doação"}));
+
+    private static final ExpenseProfile OTHER_EXPENSES = new ExpenseProfile(4, 60.0, new String[]{"Compra"});
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Value("${financas.seed.users:1000}")
+    private int users;
+
+    @Value("${financas.seed.transactions-per-user:1000}")
+    private int transactionsPerUser;
+
+    @Value("${financas.seed.years:3}")
+    private int years;
+
+    @Value("${financas.seed.random-seed:42}")
+    private long randomSeed;
+
+    /**
+     * Threads de geração; 0 usa a quantidade de processadores
+     */
+    @Value("${financas.seed.threads:0}")
+    private int threads;
+
+    @Value("${financas.seed.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${financas.cluster.enabled:false}")
+    private boolean clusterEnabled;
+
+    @PostConstruct
+    public void checkSingleInstance() {
+        if (clusterEnabled) {
+            throw new IllegalStateException("O perfil seed não pode ser usado com o perfil cluster: "
+                    + "gere a massa com uma única instância e depois suba as demais");
+        }
+    }
+
+    /**
+     * Gera a massa de dados; as categorias já devem existir
+     */
+    public void seed() throws Exception {
+        if (userService.usernameExists(USERNAME_PREFIX + 0)) {
+            log.info("Massa de dados já existente, geração ignorada");
+            return;
+        }
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        long[] userIds = insertUsers(now);
+        long firstId = reserveTransactionIds((long) users * transactionsPerUser);
+        Plan plan = new Plan(categoryRegistry.findAll(), YearMonth.now(), years);
+
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger nextUser = new AtomicInteger();
+        AtomicLong inserted = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int user = nextUser.getAndIncrement(); user < users; user = nextUser.getAndIncrement()) {
+                        inserted.addAndGet(insertUserData(plan, user, userIds[user],
+                                firstId + (long) user * transactionsPerUser, Timestamp.valueOf(now)));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Massa de dados gerada: {} usuários e {} transações em {} ms ({} threads, {} transações/s)",
+                users, inserted.get(), millis, workers, millis == 0 ? inserted.get() : inserted.get() * 1000 / millis);
+    }
+
+    private long[] insertUsers(LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        List<Object[]> rows = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            String fullName = FIRST_NAMES[i % FIRST_NAMES.length] + " "
+                    + LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length];
+            rows.add(new Object[]{USERNAME_PREFIX + i, "123456", USERNAME_PREFIX + i + "@financasplus.com",
+                    fullName, timestamp, timestamp});
+        }
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(INSERT_USER_SQL, rows.subList(from, Math.min(rows.size(), from + batchSize)));
+        }
+
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, username FROM users WHERE username LIKE ?",
+                row -> { ids.put(row.getString(2), row.getLong(1)); }, USERNAME_PREFIX + "%");
+        long[] userIds = new long[users];
+        for (int i = 0; i < users; i++) {
+            userIds[i] = ids.get(USERNAME_PREFIX + i);
+        }
+        return userIds;
+    }
+
+    /**
+     * Reserva um bloco contíguo de ids e avança a sequência para depois dele
+     * Os ids que o Hibernate já pode ter reservado são todos menores que o valor lido aqui; um
+     * NEXT VALUE de outra conexão entre os dois comandos cairia dentro do bloco (ver checkSingleInstance)
+     */
+    private long reserveTransactionIds(long count) {
+        Long first = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR transactions_seq", Long.class);
+        jdbcTemplate.execute("ALTER SEQUENCE transactions_seq RESTART WITH " + (first + count + SEQUENCE_INCREMENT));
+        return first;
+    }
+
+    /**
+     * Gera e insere as transações do usuário em lotes, cada lote em uma transação; o ledger e os
+     * totais mensais vão no último lote
+     */
+    private int insertUserData(Plan plan, int userIndex, long userId, long firstId, Timestamp now)
+            throws SQLException {
+        SplittableRandom random = new SplittableRandom(randomSeed * 0x9E3779B97F4A7C15L + userIndex);
+        List<Row> rows = plan.generate(random, transactionsPerUser);
+        rows.sort(Comparator.comparing(Row::date));
+
+        long income = 0;
+        long expenses = 0;
+        Map<RollupKey, long[]> rollups = new HashMap<>();
+        for (Row row : rows) {
+            if (row.type() == Transaction.TransactionType.RECEITA) {
+                income += row.cents();
+            } else {
+                expenses += row.cents();
+            }
+            long[] rollup = rollups.computeIfAbsent(
+                    new RollupKey(YearMonth.from(row.date()), row.categoryId(), row.type()), key -> new long[2]);
+            rollup[0] += row.cents();
+            rollup[1]++;
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement multiple = connection.prepareStatement(insertTransactionsSql(ROWS_PER_STATEMENT));
+                 PreparedStatement single = connection.prepareStatement(insertTransactionsSql(1))) {
+                int statementsPerBatch = Math.max(1, batchSize / ROWS_PER_STATEMENT);
+                int full = rows.size() - rows.size() % ROWS_PER_STATEMENT;
+                for (int i = 0; i < full; i += ROWS_PER_STATEMENT) {
+                    for (int j = 0; j < ROWS_PER_STATEMENT; j++) {
+                        bind(multiple, j * 9, rows.get(i + j), firstId + i + j, userId, now);
+                    }
+                    multiple.addBatch();
+                    if ((i / ROWS_PER_STATEMENT + 1) % statementsPerBatch == 0) {
+                        multiple.executeBatch();
+                        connection.commit();
+                    }
+                }
+                multiple.executeBatch();
+                for (int i = full; i < rows.size(); i++) {
+                    bind(single, 0, rows.get(i), firstId + i, userId, now);
+                    single.addBatch();
+                }
+                single.executeBatch();
+            }
+
+            try (PreparedStatement ledger = connection.prepareStatement(INSERT_LEDGER_SQL);
+                 PreparedStatement rollup = connection.prepareStatement(INSERT_ROLLUP_SQL)) {
+                ledger.setLong(1, userId);
+                ledger.setBigDecimal(2, BigDecimal.valueOf(income, 2));
+                ledger.setBigDecimal(3, BigDecimal.valueOf(expenses, 2));
+                ledger.setBigDecimal(4, BigDecimal.valueOf(income - expenses, 2));
+                ledger.setTimestamp(5, now);
+                ledger.executeUpdate();
+                for (Map.Entry<RollupKey, long[]> entry : rollups.entrySet()) {
+                    rollup.setLong(1, userId);
+                    rollup.setString(2, entry.getKey().month().toString());
+                    rollup.setLong(3, entry.getKey().categoryId());
+                    rollup.setString(4, entry.getKey().type().name());
+                    rollup.setBigDecimal(5, BigDecimal.valueOf(entry.getValue()[0], 2));
+                    rollup.setLong(6, entry.getValue()[1]);
+                    rollup.addBatch();
+                }
+                rollup.executeBatch();
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+        }
+        return rows.size();
+    }
+
+    private static String insertTransactionsSql(int rows) {
+        StringJoiner values = new StringJoiner(", ", INSERT_TRANSACTIONS_SQL, "");
+        for (int i = 0; i < rows; i++) {
+            values.add(TRANSACTION_VALUES);
+        }
+        return values.toString();
+    }
+
+    private static void bind(PreparedStatement statement, int offset, Row row, long id, long userId, Timestamp now)
+            throws SQLException {
+        statement.setLong(offset + 1, id);
+        statement.setLong(offset + 2, userId);
+        statement.setLong(offset + 3, row.categoryId());
+        statement.setString(offset + 4, row.type().name());
+        statement.setString(offset + 5, row.description());
+        statement.setBigDecimal(offset + 6, BigDecimal.valueOf(row.cents(), 2));
+        statement.setTimestamp(offset + 7, Timestamp.valueOf(row.date().atStartOfDay()));
+        statement.setTimestamp(offset + 8, now);
+        statement.setTimestamp(offset + 9, now);
+    }
+
+    /**
+     * Peso no sorteio das despesas, valor mediano em reais e descrições possíveis
+     */
+    private record ExpenseProfile(int weight, double median, String[] descriptions) {
+    }
+
+    /**
+     * Total mensal somado durante a geração: valor em centavos e quantidade
+     */
+    private record RollupKey(YearMonth month, long categoryId, Transaction.TransactionType type) {
+    }
+
+    private record Row(long categoryId, Transaction.TransactionType type, String description, long cents,
+                       LocalDate date) {
+    }
+
+    /**
+     * Categorias, meses e pesos compartilhados pelas threads (somente leitura)
+     */
+    private static final class Plan {
+
+        private final long incomeCategoryId;
+        private final long[] categoryIds;
+        private final ExpenseProfile[] profiles;
+        private final double[] cumulativeCategoryWeights;
+        private final List<YearMonth> months = new ArrayList<>();
+        private final double[] cumulativeMonthWeights;
+        private final LocalDate today = LocalDate.now();
+
+        Plan(List<Category> categories, YearMonth lastMonth, int years) {
+            if (categories.isEmpty()) {
+                throw new IllegalStateException("Nenhuma categoria cadastrada para gerar a massa de dados");
+            }
+            categoryIds = new long[categories.size()];
+            profiles = new ExpenseProfile[categories.size()];
+            cumulativeCategoryWeights = new double[categories.size()];
+            long income = categories.get(categories.size() - 1).getId();
+            double total = 0;
+            for (int i = 0; i < categories.size(); i++) {
+                Category category = categories.get(i);
+                categoryIds[i] = category.getId();
+                profiles[i] = EXPENSES.getOrDefault(category.getName(), OTHER_EXPENSES);
+                total += profiles[i].weight();
+                cumulativeCategoryWeights[i] = total;
+                if (category.getName().equals("Outros")) {
+                    income = category.getId();
+                }
+            }
+            incomeCategoryId = income;
+
+            for (YearMonth month = lastMonth.minusYears(years).plusMonths(1); !month.isAfter(lastMonth);
+                 month = month.plusMonths(1)) {
+                months.add(month);
+            }
+            cumulativeMonthWeights = new double[months.size()];
+            total = 0;
+            for (int i = 0; i < months.size(); i++) {
+                total += SEASONALITY[months.get(i).getMonthValue() - 1];
+                cumulativeMonthWeights[i] = total;
+            }
+        }
+
+        /**
+         * Transações de um usuário: receitas (até um quinto do total, dos meses mais recentes
+         * para os mais antigos) e o restante em despesas
+         */
+        List<Row> generate(SplittableRandom random, int count) {
+            List<Row> rows = new ArrayList<>(count);
+            long salary = lognormalCents(random, 3500.0, 0.5);
+            for (int i = months.size() - 1; i >= 0 && rows.size() < count / 5; i--) {
+                YearMonth month = months.get(i);
+                rows.add(income(month, 5, "Salário", salary));
+                if (month.getMonthValue() == 12 && rows.size() < count / 5) {
+                    rows.add(income(month, 20, "13º salário", salary));
+                }
+                if (random.nextInt(100) < 15 && rows.size() < count / 5) {
+                    rows.add(income(month, 1 + random.nextInt(month.lengthOfMonth()),
+                            EXTRA_INCOME[random.nextInt(EXTRA_INCOME.length)], lognormalCents(random, 400.0, 0.8)));
+                }
+            }
+            while (rows.size() < count) {
+                int category = pick(cumulativeCategoryWeights, random);
+                ExpenseProfile profile = profiles[category];
+                YearMonth month = months.get(pick(cumulativeMonthWeights, random));
+                rows.add(new Row(categoryIds[category], Transaction.TransactionType.DESPESA,
+                        profile.descriptions()[random.nextInt(profile.descriptions().length)],
+                        lognormalCents(random, profile.median(), 0.6), day(month, 1 + random.nextInt(month.lengthOfMonth()))));
+            }
+            return rows;
+        }
+
+        private Row income(YearMonth month, int day, String description, long cents) {
+            return new Row(incomeCategoryId, Transaction.TransactionType.RECEITA, description, cents, day(month, day));
+        }
+
+        /**
+         * Dia do mês; no mês atual, os dias que ainda não chegaram são trazidos para o intervalo até hoje
+         */
+        private LocalDate day(YearMonth month, int day) {
+            if (YearMonth.from(today).equals(month)) {
+                return month.atDay(1 + (day - 1) % today.getDayOfMonth());
+            }
+            return month.atDay(day);
+        }
+
+        private static int pick(double[] cumulativeWeights, SplittableRandom random) {
+            double target = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+            int low = 0;
+            int high = cumulativeWeights.length - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (cumulativeWeights[middle] <= target) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Valor com distribuição log-normal em torno da mediana, entre R$ 1,00 e R$ 1.000.000,00
+         */
+        private static long lognormalCents(SplittableRandom random, double median, double sigma) {
+            double value = median * Math.exp(sigma * gaussian(random));
+            return Math.max(100, Math.min(100_000_000, Math.round(value * 100)));
+        }
+
+        private static double gaussian(SplittableRandom random) {
+            // Box-Muller: SplittableRandom não tem nextGaussian no Java 17
+            double u = 1.0 - random.nextDouble();
+            return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.financasplus.config;
+
+import com.financasplus.service.LedgerService;
+import com.financasplus.service.RangeReportService;
+import com.financasplus.service.RollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Executa rotinas de manutenção dos dados derivados a partir da linha de comando
+ * Exemplos:
+ *   --ledger=verify   confere o ledger de todos os usuários com as transações
+ *   --ledger=rebuild  reconstrói o ledger de todos os usuários
+ *   --rollups=verify  confere os totais mensais de todos os usuários
+ *   --rollups=rebuild reconstrói os totais mensais de todos os usuários
+ *   --range-reports=verify confere os relatórios por período com as somas do banco
+ */
+@Component
+public class MaintenanceRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(MaintenanceRunner.class);
+
+    /**
+     * Intervalos sorteados por usuário na verificação dos relatórios por período
+     */
+    private static final int RANGE_REPORT_SAMPLES = 200;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private RangeReportService rangeReportService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption("ledger")) {
+            runLedger(args.getOptionValues("ledger"));
+        }
+        if (args.containsOption("rollups")) {
+            runRollups(args.getOptionValues("rollups"));
+        }
+        if (args.containsOption("range-reports")) {
+            runRangeReports(args.getOptionValues("range-reports"));
+        }
+    }
+
+    private void runLedger(List<String> commands) {
+        for (String command : commands) {
+            switch (command) {
+                case "verify" -> {
+                    int inconsistent = ledgerService.verifyAll();
+                    log.info("Verificação do ledger concluída: {} usuário(s) inconsistente(s)", inconsistent);
+                }
+                case "rebuild" -> {
+                    int rebuilt = ledgerService.rebuildAll();
+                    log.info("Ledger reconstruído para {} usuário(s)", rebuilt);
+                }
+                default -> log.warn("Comando de ledger desconhecido: {} (use verify ou rebuild)", command);
+            }
+        }
+    }
+
+    private void runRollups(List<String> commands) {
+        for (String command : commands) {
+            switch (command) {
+                case "verify" -> {
+                    int inconsistent = rollupService.verifyAll();
+                    log.info("Verificação dos totais mensais concluída: {} usuário(s) inconsistente(s)", inconsistent);
+                }
+                case "rebuild" -> {
+                    int rebuilt = rollupService.rebuildAll();
+                    log.info("Totais mensais reconstruídos para {} usuário(s)", rebuilt);
+                }
+                default -> log.warn("Comando de totais mensais desconhecido: {} (use verify ou rebuild)", command);
+            }
+        }
+    }
+
+    private void runRangeReports(List<String> commands) {
+        for (String command : commands) {
+            if (command.equals("verify")) {
+                int inconsistent = rangeReportService.verifyAll(RANGE_REPORT_SAMPLES);
+                log.info("Verificação dos relatórios por período concluída: {} usuário(s) inconsistente(s)", inconsistent);
+            } else {
+                log.warn("Comando de relatórios por período desconhecido: {} (use verify)", command);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.financasplus.config;
+
+import com.financasplus.service.StatementCounter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração das métricas (Micrometer)
+ * Os services anotados com @Timed têm cada método público medido (timer financas.service,
+ * com as tags class, method e exception); consultas, pool de conexões, Hibernate e requisições
+ * HTTP são medidos pelas configurações automáticas do Actuator
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Aplica @Timed aos beans anotados
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Registra o contador de comandos SQL por requisição como StatementInspector do Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterInspector(StatementCounter statementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+}
@@ -0,0 +1,55 @@
+package com.financasplus.config;
+
+import com.financasplus.service.SessionUser;
+import com.financasplus.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.Optional;
+
+/**
+ * Resolve parâmetros SessionUser dos controllers a partir da sessão HTTP
+ * O principal é conferido com o cache do UserService: se o usuário foi alterado, a sessão
+ * recebe a nova versão; se foi removido, a sessão deixa de estar autenticada (parâmetro null)
+ */
+@Component
+public class SessionUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    /**
+     * Nome do atributo de sessão com o usuário autenticado
+     */
+    public static final String SESSION_ATTRIBUTE = "user";
+
+    @Autowired
+    private UserService userService;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return SessionUser.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Object attribute = webRequest.getAttribute(SESSION_ATTRIBUTE, RequestAttributes.SCOPE_SESSION);
+        if (!(attribute instanceof SessionUser sessionUser)) {
+            return null;
+        }
+
+        Optional<SessionUser> current = userService.findPrincipal(sessionUser.getId());
+        if (current.isEmpty()) {
+            webRequest.removeAttribute(SESSION_ATTRIBUTE, RequestAttributes.SCOPE_SESSION);
+            return null;
+        }
+        if (!current.get().getVersion().equals(sessionUser.getVersion())) {
+            webRequest.setAttribute(SESSION_ATTRIBUTE, current.get(), RequestAttributes.SCOPE_SESSION);
+        }
+        return current.get();
+    }
+}
@@ -0,0 +1,85 @@
+package com.financasplus.config;
+
+import com.financasplus.controller.StatementBudget;
+import com.financasplus.service.StatementCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Conta os comandos SQL das requisições aos endpoints anotados com @StatementBudget
+ * A contagem vai do início do controller ao fim da renderização e é publicada por endpoint
+ * (financas.request.statements); acima do orçamento, a requisição é registrada em log e
+ * contada em financas.request.statements.over.budget
+ * No perfil cluster o orçamento inclui os avisos de invalidação do endpoint (StatementBudget.invalidations)
+ */
+@Component
+public class StatementBudgetInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementBudgetInterceptor.class);
+
+    private static final String SCOPE_ATTRIBUTE = StatementBudgetInterceptor.class.getName() + ".scope";
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${financas.cluster.enabled:false}")
+    private boolean clusterEnabled;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method && method.hasMethodAnnotation(StatementBudget.class)) {
+            request.setAttribute(SCOPE_ATTRIBUTE, statementCounter.open());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(SCOPE_ATTRIBUTE) instanceof StatementCounter.Scope scope)) {
+            return;
+        }
+        scope.close();
+        request.removeAttribute(SCOPE_ATTRIBUTE);
+
+        HandlerMethod method = (HandlerMethod) handler;
+        int budget = budget(method.getMethodAnnotation(StatementBudget.class));
+        String endpoint = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        int statements = scope.count();
+
+        DistributionSummary.builder("financas.request.statements")
+                .description("Comandos SQL por requisição")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(statements);
+        if (statements > budget) {
+            Counter.builder("financas.request.statements.over.budget")
+                    .description("Requisições acima do orçamento de comandos SQL")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} {} emitiu {} comandos SQL, acima do orçamento de {} ({})",
+                    request.getMethod(), request.getRequestURI(), statements, budget, endpoint);
+        }
+    }
+
+    /**
+     * Orçamento efetivo do endpoint: os avisos de invalidação só são gravados no perfil cluster
+     */
+    public int budget(StatementBudget statementBudget) {
+        return statementBudget.value() + (clusterEnabled ? statementBudget.invalidations() : 0);
+    }
+}
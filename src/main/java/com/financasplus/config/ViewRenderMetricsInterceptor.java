@@ -0,0 +1,53 @@
+package com.financasplus.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o tempo de renderização das páginas Thymeleaf (timer financas.view.render, por view)
+ * O intervalo vai do fim do controller (postHandle) ao fim da requisição, que é a renderização
+ * O nome da view é a única tag, então a cardinalidade é a quantidade de templates
+ */
+@Component
+public class ViewRenderMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = ViewRenderMetricsInterceptor.class.getName() + ".start";
+    private static final String VIEW_ATTRIBUTE = ViewRenderMetricsInterceptor.class.getName() + ".view";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        // Redirecionamentos não renderizam template
+        if (modelAndView != null && modelAndView.getViewName() != null
+                && !modelAndView.getViewName().startsWith("redirect:")) {
+            request.setAttribute(VIEW_ATTRIBUTE, modelAndView.getViewName());
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(START_ATTRIBUTE) instanceof Long start
+                && request.getAttribute(VIEW_ATTRIBUTE) instanceof String view) {
+            Timer.builder("financas.view.render")
+                    .description("Tempo de renderização das páginas")
+                    .tag("view", view)
+                    .tag("exception", ex == null ? "none" : ex.getClass().getSimpleName())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
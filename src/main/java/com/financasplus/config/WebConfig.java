@@ -0,0 +1,53 @@
+package com.financasplus.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Configuração do Spring MVC
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private SessionUserArgumentResolver sessionUserArgumentResolver;
+
+    @Autowired
+    private ViewRenderMetricsInterceptor viewRenderMetricsInterceptor;
+
+    @Autowired
+    private StatementBudgetInterceptor statementBudgetInterceptor;
+
+    /**
+     * Registra a resolução do usuário autenticado nos parâmetros dos controllers
+     */
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(sessionUserArgumentResolver);
+    }
+
+    /**
+     * Registra a medição do tempo de renderização das páginas e a contagem de comandos SQL por requisição
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(viewRenderMetricsInterceptor);
+        registry.addInterceptor(statementBudgetInterceptor);
+    }
+
+    /**
+     * Filtro padrão dos DTOs da API REST (@JsonFilter("fields")): sem seleção de campos, serializa todos
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsDefaultFilter() {
+        return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+}
@@ -0,0 +1,44 @@
+package com.financasplus.controller;
+
+import com.financasplus.service.CategoryDto;
+import com.financasplus.service.CategoryRegistry;
+import com.financasplus.service.SessionUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * API REST de categorias (JSON), servida do registro em memória
+ */
+@RestController
+@RequestMapping("/api/v1/categories")
+public class CategoryApiController {
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    /**
+     * Todas as categorias, com seleção de campos opcional (fields)
+     */
+    @GetMapping
+    public ResponseEntity<MappingJacksonValue> listCategories(SessionUser user,
+                                                              @RequestParam(required = false) String fields) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        List<CategoryDto> categories = categoryRegistry.findAll().stream().map(CategoryDto::of).toList();
+        try {
+            return ResponseEntity.ok(SparseFields.select(categories, fields, CategoryDto.class));
+        } catch (IllegalArgumentException e) {
+            return TransactionApiController.badRequest(e);
+        }
+    }
+}
@@ -1,22 +1,33 @@
 package com.financasplus.controller;
 
+import com.financasplus.config.SessionUserArgumentResolver;
+import com.financasplus.model.Transaction;
 import com.financasplus.model.User;
-import com.financasplus.service.CategoryService;
-import com.financasplus.service.TransactionService;
+import com.financasplus.service.DashboardData;
+import com.financasplus.service.DashboardService;
+import com.financasplus.service.DataVersionService;
+import com.financasplus.service.FragmentCache;
+import com.financasplus.service.SessionUser;
 import com.financasplus.service.UserService;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.Optional;
 import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 
 /**
  * Controller para gerenciar as páginas iniciais (Home, Login, Cadastro)
@@ -24,21 +35,28 @@ import java.util.ArrayList;
 @Controller
 public class HomeController {
 
+    /**
+     * Quantidade de transações exibidas no dashboard
+     */
+    private static final int RECENT_TRANSACTIONS = 5;
+
     @Autowired
     private UserService userService;
 
     @Autowired
-    private TransactionService transactionService;
+    private DashboardService dashboardService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
 
     @Autowired
-    private CategoryService categoryService;
+    private FragmentCache fragmentCache;
 
     /**
      * Página inicial (redireciona para login se não autenticado)
      */
     @GetMapping("/")
-    public String index(HttpSession session) {
-        User user = (User) session.getAttribute("user");
+    public String index(SessionUser user) {
         if (user != null) {
             return "redirect:/dashboard";
         }
@@ -65,9 +83,7 @@ public class HomeController {
             User user = userOpt.get();
             // Validação simples de senha (em produção, usar bcrypt)
             if (user.getPassword().equals(password)) {
-                session.setAttribute("user", user);
-                // Inicializar categorias padrão após login
-                categoryService.initializeDefaultCategories();
+                session.setAttribute(SessionUserArgumentResolver.SESSION_ATTRIBUTE, SessionUser.of(user));
                 return "redirect:/dashboard";
             }
         }
@@ -110,9 +126,6 @@ public class HomeController {
             User newUser = new User(username, password, email, fullName);
             userService.createUser(newUser);
 
-            // Inicializar categorias padrão após registro
-            categoryService.initializeDefaultCategories();
-
             model.addAttribute("success", "Cadastro realizado com sucesso! Faça login para continuar.");
             return "register";
         } catch (IllegalArgumentException e) {
@@ -125,40 +138,37 @@ public class HomeController {
      * Página do Dashboard
      */
     @GetMapping("/dashboard")
-    public String dashboard(HttpSession session, Model model) {
-        User user = (User) session.getAttribute("user");
+    @StatementBudget(6)
+    public String dashboard(SessionUser user, Model model) {
         if (user == null) {
             return "redirect:/login";
         }
 
-        // Inicializar categorias padrão se não existirem
-        categoryService.initializeDefaultCategories();
+        User currentUser = userService.getReference(user.getId());
 
-        // Buscar dados do usuário do banco de dados
-        Optional<User> userOpt = userService.findById(user.getId());
-        if (userOpt.isEmpty()) {
-            return "redirect:/login";
-        }
+        // Lista de transações recentes já renderizada para a versão atual dos dados
+        String version = dataVersionService.dashboardEtag(user);
+        Optional<String> cachedRecent = fragmentCache.get(user.getId(), "dashboard:recent", version);
 
-        User currentUser = userOpt.get();
-        session.setAttribute("user", currentUser);
-
-        // Calcular totais
-        BigDecimal totalIncome = transactionService.calculateTotalIncome(currentUser);
-        BigDecimal totalExpenses = transactionService.calculateTotalExpenses(currentUser);
-        BigDecimal balance = transactionService.calculateBalance(currentUser);
+        // Ledger, despesas por categoria e transações recentes carregados em paralelo
+        DashboardData data = dashboardService.load(currentUser, cachedRecent.isPresent() ? 0 : RECENT_TRANSACTIONS);
+        String recentTransactionsHtml = cachedRecent.orElseGet(() -> fragmentCache.render(
+                user.getId(), "dashboard:recent", version, "fragments/dashboard", "recentTransactions",
+                Map.of("transactions", data.recentTransactions())));
+        BigDecimal totalIncome = data.ledger().getTotalIncome();
+        BigDecimal totalExpenses = data.ledger().getTotalExpenses();
+        BigDecimal balance = data.ledger().getBalance();
 
         // Calcular gastos por categoria
-        java.util.Map<String, BigDecimal> expensesByCategory = transactionService.calculateExpensesByCategory(currentUser);
-        java.util.List<String> categoryNames = new java.util.ArrayList<>(expensesByCategory.keySet());
-        java.util.List<BigDecimal> categoryValues = new java.util.ArrayList<>(expensesByCategory.values());
+        java.util.List<String> categoryNames = new java.util.ArrayList<>(data.expensesByCategory().keySet());
+        java.util.List<BigDecimal> categoryValues = new java.util.ArrayList<>(data.expensesByCategory().values());
 
         // Adicionar dados ao modelo
-        model.addAttribute("user", currentUser);
+        model.addAttribute("user", user);
         model.addAttribute("totalIncome", totalIncome);
         model.addAttribute("totalExpenses", totalExpenses);
         model.addAttribute("balance", balance);
-        model.addAttribute("transactions", transactionService.findByUser(currentUser));
+        model.addAttribute("recentTransactionsHtml", recentTransactionsHtml);
         model.addAttribute("categoryNames", categoryNames);
         model.addAttribute("categoryValues", categoryValues);
         model.addAttribute("incomeAmount", totalIncome.doubleValue());
@@ -167,6 +177,49 @@ public class HomeController {
         return "dashboard";
     }
 
+    /**
+     * Dados do dashboard em JSON, com ETag derivada da versão dos dados do usuário
+     * Se a ETag enviada em If-None-Match ainda for a atual, responde 304 sem consultar o banco
+     */
+    @GetMapping("/dashboard/data")
+    @StatementBudget(4)
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> dashboardData(SessionUser user, WebRequest request) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        String etag = dataVersionService.dashboardEtag(user);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        DashboardData data = dashboardService.load(userService.getReference(user.getId()), RECENT_TRANSACTIONS);
+        List<Map<String, Object>> transactions = new ArrayList<>();
+        for (Transaction transaction : data.recentTransactions()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", transaction.getId());
+            item.put("date", transaction.getDate().toLocalDate().toString());
+            item.put("description", transaction.getDescription());
+            item.put("amount", transaction.getAmount());
+            item.put("type", transaction.getType().name());
+            item.put("category", transaction.getCategory().getName());
+            transactions.add(item);
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("totalIncome", data.ledger().getTotalIncome());
+        body.put("totalExpenses", data.ledger().getTotalExpenses());
+        body.put("balance", data.ledger().getBalance());
+        body.put("expensesByCategory", data.expensesByCategory());
+        body.put("recentTransactions", transactions);
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(body);
+    }
+
     /**
      * Logout do usuário
      */
@@ -0,0 +1,107 @@
+package com.financasplus.controller;
+
+import com.financasplus.service.DataVersionService;
+import com.financasplus.service.MonthlySummaryDto;
+import com.financasplus.service.RangeReport;
+import com.financasplus.service.RangeReportService;
+import com.financasplus.service.ReportGranularity;
+import com.financasplus.service.ReportService;
+import com.financasplus.service.SessionUser;
+import com.financasplus.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * API REST de relatórios (JSON): resumo do mês e relatório por período
+ * As respostas levam ETag da versão dos dados e são 304 enquanto nada mudar
+ */
+@RestController
+@RequestMapping("/api/v1/reports")
+public class ReportApiController {
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private RangeReportService rangeReportService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    /**
+     * Totais e despesas por categoria do mês (yyyy-MM, padrão: mês atual), sem a lista de transações
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<MonthlySummaryDto> monthlySummary(SessionUser user,
+                                                            @RequestParam(required = false) String month,
+                                                            WebRequest request) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        YearMonth reportMonth;
+        try {
+            reportMonth = month == null || month.isEmpty() ? YearMonth.now() : YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String etag = dataVersionService.reportEtag(user, reportMonth);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        MonthlySummaryDto summary = MonthlySummaryDto.of(
+                reportService.buildMonthlyReport(userService.getReference(user.getId()), reportMonth, false));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(summary);
+    }
+
+    /**
+     * Relatório do intervalo [from, to] por período (o mesmo de /reports/range)
+     */
+    @GetMapping("/range")
+    public ResponseEntity<RangeReport> rangeReport(SessionUser user,
+                                                   @RequestParam String from,
+                                                   @RequestParam String to,
+                                                   @RequestParam(defaultValue = "monthly") String granularity,
+                                                   WebRequest request) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        try {
+            LocalDate fromDate = LocalDate.parse(from);
+            LocalDate toDate = LocalDate.parse(to);
+            ReportGranularity reportGranularity = ReportGranularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+
+            String etag = dataVersionService.rangeReportEtag(user, fromDate + "." + toDate + "." + reportGranularity);
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .eTag(etag)
+                    .body(rangeReportService.buildReport(user.getId(), fromDate, toDate, reportGranularity));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
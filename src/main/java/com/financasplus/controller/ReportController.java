@@ -1,25 +1,34 @@
 package com.financasplus.controller;
 
-import com.financasplus.model.Category;
-import com.financasplus.model.Transaction;
 import com.financasplus.model.User;
-import com.financasplus.service.CategoryService;
-import com.financasplus.service.TransactionService;
+import com.financasplus.service.DataVersionService;
+import com.financasplus.service.FragmentCache;
+import com.financasplus.service.MonthlyReport;
+import com.financasplus.service.RangeReport;
+import com.financasplus.service.RangeReportService;
+import com.financasplus.service.ReportGranularity;
+import com.financasplus.service.ReportService;
+import com.financasplus.service.SessionUser;
 import com.financasplus.service.UserService;
-import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.LinkedHashMap;
 
 /**
  * Controller para gerenciar relatórios financeiros
@@ -29,86 +38,127 @@ import java.util.LinkedHashMap;
 public class ReportController {
 
     @Autowired
-    private TransactionService transactionService;
+    private ReportService reportService;
 
     @Autowired
-    private CategoryService categoryService;
+    private RangeReportService rangeReportService;
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private FragmentCache fragmentCache;
+
     /**
      * Página de relatórios
      */
     @GetMapping
-    public String reports(HttpSession session, 
+    @StatementBudget(4)
+    public String reports(SessionUser user,
                          @RequestParam(required = false) String month,
+                         WebRequest request,
+                         HttpServletResponse response,
                          Model model) {
-        User user = (User) session.getAttribute("user");
         if (user == null) {
             return "redirect:/login";
         }
 
-        // Buscar usuário atualizado
-        Optional<User> userOpt = userService.findById(user.getId());
-        if (userOpt.isEmpty()) {
-            return "redirect:/login";
-        }
-
-        User currentUser = userOpt.get();
-        List<Transaction> transactions = transactionService.findByUser(currentUser);
+        User currentUser = userService.getReference(user.getId());
 
         // Definir mês padrão como mês atual
         if (month == null || month.isEmpty()) {
             month = YearMonth.now().toString();
         }
 
-        YearMonth yearMonth = YearMonth.parse(month);
-        LocalDateTime startDate = yearMonth.atDay(1).atStartOfDay();
-        LocalDateTime endDate = yearMonth.atEndOfMonth().atTime(23, 59, 59);
-
-        // Filtrar transações do mês
-        List<Transaction> monthTransactions = transactions.stream()
-                .filter(t -> t.getDate().isAfter(startDate) && t.getDate().isBefore(endDate))
-                .collect(Collectors.toList());
-
-        // Calcular totais do mês
-        BigDecimal monthIncome = transactionService.calculateIncomeByPeriod(currentUser, startDate, endDate);
-        BigDecimal monthExpenses = transactionService.calculateExpensesByPeriod(currentUser, startDate, endDate);
-        BigDecimal monthBalance = monthIncome.subtract(monthExpenses);
-
-        // Agrupar despesas por categoria
-        Map<String, BigDecimal> expensesByCategory = new LinkedHashMap<>();
-        List<Category> categories = categoryService.findAll();
-
-        for (Category category : categories) {
-            BigDecimal categoryTotal = monthTransactions.stream()
-                    .filter(t -> t.getCategory().getId().equals(category.getId()) && 
-                               t.getType() == Transaction.TransactionType.DESPESA)
-                    .map(Transaction::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-            if (categoryTotal.compareTo(BigDecimal.ZERO) > 0) {
-                expensesByCategory.put(category.getName(), categoryTotal);
-            }
+        // Sem alterações no mês desde a última visita: 304 sem consultar o banco
+        String etag = dataVersionService.reportEtag(user, YearMonth.parse(month));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        if (request.checkNotModified(etag)) {
+            return null;
         }
 
-        // Preparar dados para o gráfico
-        List<String> categoryNames = new ArrayList<>(expensesByCategory.keySet());
-        List<BigDecimal> categoryValues = new ArrayList<>(expensesByCategory.values());
+        // Fragmentos já renderizados para a versão atual do mês
+        YearMonth reportMonth = YearMonth.parse(month);
+        String transactionsKey = "reports:" + month + ":transactions";
+        String chartKey = "reports:" + month + ":chart";
+        Optional<String> cachedTransactions = fragmentCache.get(user.getId(), transactionsKey, etag);
+        Optional<String> cachedChart = fragmentCache.get(user.getId(), chartKey, etag);
+
+        // Totais a partir dos totais mensais; as transações do mês só são lidas se a lista não estiver em cache
+        MonthlyReport report = reportService.buildMonthlyReport(currentUser, reportMonth, cachedTransactions.isEmpty());
+        BigDecimal monthIncome = report.income();
+        BigDecimal monthExpenses = report.expenses();
+        BigDecimal monthBalance = report.balance();
+        Map<String, BigDecimal> expensesByCategory = report.expensesByCategory();
 
-        model.addAttribute("user", currentUser);
+        String monthTransactionsHtml = cachedTransactions.orElseGet(() -> fragmentCache.render(
+                user.getId(), transactionsKey, etag, "fragments/reports", "monthTransactions",
+                Map.of("monthTransactions", report.transactions())));
+
+        // Preparar dados para o gráfico
+        String chartDataHtml = cachedChart.orElseGet(() -> fragmentCache.render(
+                user.getId(), chartKey, etag, "fragments/reports", "chartData",
+                Map.of("monthIncomeAmount", monthIncome.doubleValue(),
+                        "monthExpenseAmount", monthExpenses.doubleValue(),
+                        "categoryNames", new ArrayList<>(expensesByCategory.keySet()),
+                        "categoryValues", new ArrayList<>(expensesByCategory.values()))));
+
+        model.addAttribute("user", user);
         model.addAttribute("currentMonth", month);
         model.addAttribute("monthIncome", monthIncome);
         model.addAttribute("monthExpenses", monthExpenses);
         model.addAttribute("monthBalance", monthBalance);
-        model.addAttribute("monthTransactions", monthTransactions);
         model.addAttribute("expensesByCategory", expensesByCategory);
-        model.addAttribute("categoryNames", categoryNames);
-        model.addAttribute("categoryValues", categoryValues);
-        model.addAttribute("monthIncomeAmount", monthIncome.doubleValue());
-        model.addAttribute("monthExpenseAmount", monthExpenses.doubleValue());
+        model.addAttribute("monthTransactionsHtml", monthTransactionsHtml);
+        model.addAttribute("chartDataHtml", chartDataHtml);
 
         return "reports";
     }
+
+    /**
+     * Relatório de um intervalo [from, to] em JSON, por período (daily, weekly, monthly,
+     * quarterly ou yearly), com totais por tipo e por categoria
+     */
+    @GetMapping("/range")
+    @StatementBudget(3)
+    @ResponseBody
+    public ResponseEntity<RangeReport> rangeReport(SessionUser user,
+                                                   @RequestParam String from,
+                                                   @RequestParam String to,
+                                                   @RequestParam(defaultValue = "monthly") String granularity,
+                                                   WebRequest request) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        LocalDate fromDate;
+        LocalDate toDate;
+        ReportGranularity reportGranularity;
+        try {
+            fromDate = LocalDate.parse(from);
+            toDate = LocalDate.parse(to);
+            reportGranularity = ReportGranularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String etag = dataVersionService.rangeReportEtag(user, fromDate + "." + toDate + "." + reportGranularity);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        RangeReport report;
+        try {
+            report = rangeReportService.buildReport(user.getId(), fromDate, toDate, reportGranularity);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(report);
+    }
 }
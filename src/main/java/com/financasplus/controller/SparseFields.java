@@ -0,0 +1,52 @@
+package com.financasplus.controller;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Seleção de campos das respostas da API REST (?fields=id,amount,date)
+ * Os DTOs anotados com @JsonFilter("fields") são serializados só com os campos pedidos;
+ * sem o parâmetro, saem completos (filtro padrão configurado no WebConfig)
+ */
+final class SparseFields {
+
+    static final String FILTER = "fields";
+
+    private SparseFields() {
+    }
+
+    /**
+     * Envolve a resposta com o filtro dos campos pedidos
+     * Lança IllegalArgumentException se algum campo não existir no DTO
+     */
+    static MappingJacksonValue select(Object body, String fields, Class<? extends Record> type) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (fields == null || fields.isBlank()) {
+            return value;
+        }
+
+        List<String> available = Arrays.stream(type.getRecordComponents()).map(RecordComponent::getName).toList();
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!available.contains(name)) {
+                throw new IllegalArgumentException("Campo desconhecido: " + name + " (disponíveis: "
+                        + String.join(",", available) + ")");
+            }
+            requested.add(name);
+        }
+        value.setFilters(new SimpleFilterProvider()
+                .addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(requested)));
+        return value;
+    }
+}
@@ -0,0 +1,26 @@
+package com.financasplus.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Quantidade máxima de comandos SQL que o endpoint pode emitir em uma requisição,
+ * inclusive durante a renderização da página; não deve depender da quantidade de
+ * transações do usuário. Acima do orçamento a requisição é registrada em log (WARN)
+ * Com financas.cluster.enabled, cada aviso de invalidação gravado (InvalidationBus) soma um comando
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StatementBudget {
+
+    int value();
+
+    /**
+     * Avisos de invalidação que o endpoint grava por requisição no perfil cluster (um INSERT cada)
+     */
+    int invalidations() default 0;
+}
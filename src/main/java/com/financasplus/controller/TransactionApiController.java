@@ -0,0 +1,113 @@
+package com.financasplus.controller;
+
+import com.financasplus.model.Category;
+import com.financasplus.model.Transaction;
+import com.financasplus.model.User;
+import com.financasplus.service.CategoryRegistry;
+import com.financasplus.service.CursorPage;
+import com.financasplus.service.SessionUser;
+import com.financasplus.service.TransactionDto;
+import com.financasplus.service.TransactionPage;
+import com.financasplus.service.TransactionService;
+import com.financasplus.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * API REST de transações (JSON) para clientes como o aplicativo móvel
+ * Paginação por cursor (a mesma da listagem), busca pela descrição com q e seleção de campos com fields
+ */
+@RestController
+@RequestMapping("/api/v1/transactions")
+public class TransactionApiController {
+
+    /**
+     * Tamanho máximo de página aceito em size
+     */
+    private static final int MAX_PAGE_SIZE = 200;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    /**
+     * Página de transações, da mais nova para a mais antiga
+     * after/before são os cursores next/previous da resposta anterior; com q, pagina o resultado da busca
+     */
+    @GetMapping
+    @StatementBudget(3)
+    public ResponseEntity<MappingJacksonValue> listTransactions(SessionUser user,
+                                                                @RequestParam(required = false) String q,
+                                                                @RequestParam(required = false) String after,
+                                                                @RequestParam(required = false) String before,
+                                                                @RequestParam(defaultValue = "50") int size,
+                                                                @RequestParam(required = false) String fields) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        User currentUser = userService.getReference(user.getId());
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        try {
+            TransactionPage page = q == null || q.isBlank()
+                    ? transactionService.findPage(currentUser, after, before, pageSize)
+                    : transactionService.search(currentUser, q.trim(), after, pageSize);
+            List<TransactionDto> items = page.transactions().stream().map(this::toDto).toList();
+            return ResponseEntity.ok(SparseFields.select(
+                    new CursorPage<>(items, page.nextCursor(), page.previousCursor()), fields, TransactionDto.class));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
+    }
+
+    /**
+     * Uma transação do usuário (404 se não existir ou for de outro usuário)
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<MappingJacksonValue> getTransaction(@PathVariable Long id, SessionUser user,
+                                                              @RequestParam(required = false) String fields) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return transactionService.findById(id)
+                .filter(transaction -> transaction.getUser().getId().equals(user.getId()))
+                .map(transaction -> {
+                    try {
+                        return ResponseEntity.ok(SparseFields.select(toDto(transaction), fields, TransactionDto.class));
+                    } catch (IllegalArgumentException e) {
+                        return badRequest(e);
+                    }
+                })
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * O nome da categoria vem do registro em memória, sem inicializar a associação
+     */
+    private TransactionDto toDto(Transaction transaction) {
+        String category = categoryRegistry.findById(transaction.getCategory().getId())
+                .map(Category::getName)
+                .orElse(null);
+        return TransactionDto.of(transaction, category);
+    }
+
+    static ResponseEntity<MappingJacksonValue> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(new MappingJacksonValue(Map.of("error", e.getMessage())));
+    }
+}
@@ -4,18 +4,40 @@ import com.financasplus.model.Category;
 import com.financasplus.model.Transaction;
 import com.financasplus.model.User;
 import com.financasplus.service.CategoryService;
+import com.financasplus.service.ImportResult;
+import com.financasplus.service.SessionUser;
+import com.financasplus.service.StatementImportService;
+import com.financasplus.service.TransactionExportService;
+import com.financasplus.service.TransactionIngestionQueue;
+import com.financasplus.service.TransactionPage;
 import com.financasplus.service.TransactionService;
 import com.financasplus.service.UserService;
-import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Controller para gerenciar transações (receitas e despesas)
@@ -24,6 +46,11 @@ import java.util.Optional;
 @RequestMapping("/transactions")
 public class TransactionController {
 
+    /**
+     * Quantidade de transações por página na listagem
+     */
+    private static final int PAGE_SIZE = 20;
+
     @Autowired
     private TransactionService transactionService;
 
@@ -33,31 +60,54 @@ public class TransactionController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private StatementImportService statementImportService;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private TransactionIngestionQueue ingestionQueue;
+
     /**
-     * Lista todas as transações do usuário
+     * Lista as transações do usuário, paginadas por cursor (data, id)
+     * Com q, lista o resultado da busca pela descrição (paginado por id)
      */
     @GetMapping
-    public String listTransactions(HttpSession session, Model model) {
-        User user = (User) session.getAttribute("user");
+    @StatementBudget(3)
+    public String listTransactions(SessionUser user,
+                                   @RequestParam(required = false) String q,
+                                   @RequestParam(required = false) String after,
+                                   @RequestParam(required = false) String before,
+                                   Model model) {
         if (user == null) {
             return "redirect:/login";
         }
 
-        // Inicializar categorias padrão se não existirem
-        categoryService.initializeDefaultCategories();
-
-        // Buscar usuário atualizado do banco
-        Optional<User> userOpt = userService.findById(user.getId());
-        if (userOpt.isEmpty()) {
-            return "redirect:/login";
+        User currentUser = userService.getReference(user.getId());
+        String query = q == null ? "" : q.trim();
+        TransactionPage page;
+        if (!query.isEmpty()) {
+            try {
+                page = transactionService.search(currentUser, query, after, PAGE_SIZE);
+            } catch (NumberFormatException e) {
+                // Cursor inválido: volta para a primeira página do resultado
+                page = transactionService.search(currentUser, query, null, PAGE_SIZE);
+            }
+        } else {
+            try {
+                page = transactionService.findPage(currentUser, after, before, PAGE_SIZE);
+            } catch (IllegalArgumentException e) {
+                // Cursor inválido: volta para a primeira página
+                page = transactionService.findPage(currentUser, null, null, PAGE_SIZE);
+            }
         }
-
-        User currentUser = userOpt.get();
-        List<Transaction> transactions = transactionService.findByUser(currentUser);
         List<Category> categories = categoryService.findAll();
 
-        model.addAttribute("user", currentUser);
-        model.addAttribute("transactions", transactions);
+        model.addAttribute("user", user);
+        model.addAttribute("transactions", page.transactions());
+        model.addAttribute("page", page);
+        model.addAttribute("query", query);
         model.addAttribute("categories", categories);
 
         return "transactions";
@@ -67,15 +117,12 @@ public class TransactionController {
      * Página para adicionar nova transação
      */
     @GetMapping("/add")
-    public String addTransactionPage(HttpSession session, Model model) {
-        User user = (User) session.getAttribute("user");
+    @StatementBudget(2)
+    public String addTransactionPage(SessionUser user, Model model) {
         if (user == null) {
             return "redirect:/login";
         }
 
-        // Inicializar categorias padrão se não existirem
-        categoryService.initializeDefaultCategories();
-
         List<Category> categories = categoryService.findAll();
         model.addAttribute("categories", categories);
         model.addAttribute("transactionTypes", Transaction.TransactionType.values());
@@ -85,29 +132,24 @@ public class TransactionController {
 
     /**
      * Processa a criação de uma nova transação
+     * Orçamento do pior caso: principal fora do cache, novo bloco da sequência e linha nova nos totais mensais
      */
     @PostMapping("/add")
+    @StatementBudget(value = 7, invalidations = 1)
     public String createTransaction(
             @RequestParam String description,
             @RequestParam BigDecimal amount,
             @RequestParam Long categoryId,
             @RequestParam String type,
             @RequestParam String date,
-            HttpSession session,
+            SessionUser user,
             Model model) {
 
         try {
-            User user = (User) session.getAttribute("user");
             if (user == null) {
                 return "redirect:/login";
             }
 
-            // Buscar usuário atualizado
-            Optional<User> userOpt = userService.findById(user.getId());
-            if (userOpt.isEmpty()) {
-                return "redirect:/login";
-            }
-
             // Buscar categoria
             Optional<Category> categoryOpt = categoryService.findById(categoryId);
             if (categoryOpt.isEmpty()) {
@@ -117,7 +159,7 @@ public class TransactionController {
 
             // Criar transação
             Transaction transaction = new Transaction();
-            transaction.setUser(userOpt.get());
+            transaction.setUser(userService.getReference(user.getId()));
             transaction.setCategory(categoryOpt.get());
             transaction.setDescription(description);
             transaction.setAmount(amount);
@@ -133,19 +175,126 @@ public class TransactionController {
         }
     }
 
+    /**
+     * Página para importar um extrato bancário
+     */
+    @GetMapping("/import")
+    public String importPage(SessionUser user) {
+        if (user == null) {
+            return "redirect:/login";
+        }
+
+        return "import-transactions";
+    }
+
+    /**
+     * Processa a importação de um extrato bancário (CSV ou OFX)
+     */
+    @PostMapping("/import")
+    public String importStatement(@RequestParam("file") MultipartFile file, SessionUser user, Model model) {
+        if (user == null) {
+            return "redirect:/login";
+        }
+
+        if (file.isEmpty()) {
+            model.addAttribute("error", "Selecione um arquivo para importar!");
+            return "import-transactions";
+        }
+
+        try (InputStream input = file.getInputStream()) {
+            ImportResult result = statementImportService.importStatement(
+                    userService.getReference(user.getId()), file.getOriginalFilename(), input);
+            model.addAttribute("result", result);
+        } catch (IOException | IllegalArgumentException e) {
+            model.addAttribute("error", "Erro ao importar extrato: " + e.getMessage());
+        }
+
+        return "import-transactions";
+    }
+
+    /**
+     * Exporta o histórico de transações do usuário em CSV ou JSON, escrito em fluxo na resposta
+     * start/end (yyyy-MM-dd) e type são filtros opcionais
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) Transaction.TransactionType type,
+            SessionUser user) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.FOUND).location(URI.create("/login")).build();
+        }
+
+        User currentUser = userService.getReference(user.getId());
+        LocalDateTime startDate = start == null ? null : start.atStartOfDay();
+        LocalDateTime endDate = end == null ? null : end.atTime(LocalTime.MAX);
+        boolean json = "json".equalsIgnoreCase(format);
+
+        StreamingResponseBody body = output -> {
+            if (json) {
+                transactionExportService.exportJson(currentUser, startDate, endDate, type, output);
+            } else {
+                transactionExportService.exportCsv(currentUser, startDate, endDate, type, output);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(json ? MediaType.APPLICATION_JSON : new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(json ? "transacoes.json" : "transacoes.csv").build().toString())
+                .body(body);
+    }
+
+    /**
+     * Ingestão de uma transação pela fila de gravação em lotes (integrações com alto volume)
+     * Responde 201 com o id depois do commit do lote, ou 202 assim que entra na fila com wait=false;
+     * 400 para dados inválidos e 503 quando a fila está cheia
+     */
+    @PostMapping("/ingest")
+    @ResponseBody
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> ingestTransaction(
+            @RequestParam String description,
+            @RequestParam BigDecimal amount,
+            @RequestParam Long categoryId,
+            @RequestParam Transaction.TransactionType type,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "true") boolean wait,
+            SessionUser user) {
+        if (user == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+
+        CompletableFuture<Long> ack;
+        try {
+            ack = ingestionQueue.submit(user.getId(), categoryId, type, description, amount, date.atStartOfDay());
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of("error", e.getMessage())));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", e.getMessage())));
+        }
+
+        if (!wait) {
+            return CompletableFuture.completedFuture(ResponseEntity.accepted().build());
+        }
+        return ack.handle((id, error) -> error == null
+                ? ResponseEntity.status(HttpStatus.CREATED).body(Map.of("id", id))
+                : ResponseEntity.internalServerError().body(Map.of("error", "Erro ao gravar transação: " + error.getMessage())));
+    }
+
     /**
      * Página para editar uma transação
      */
     @GetMapping("/edit/{id}")
-    public String editTransactionPage(@PathVariable Long id, HttpSession session, Model model) {
-        User user = (User) session.getAttribute("user");
+    @StatementBudget(3)
+    public String editTransactionPage(@PathVariable Long id, SessionUser user, Model model) {
         if (user == null) {
             return "redirect:/login";
         }
 
-        // Inicializar categorias padrão se não existirem
-        categoryService.initializeDefaultCategories();
-
         Optional<Transaction> transactionOpt = transactionService.findById(id);
         if (transactionOpt.isEmpty()) {
             return "redirect:/transactions";
@@ -163,6 +312,7 @@ public class TransactionController {
      * Processa a atualização de uma transação
      */
     @PostMapping("/edit/{id}")
+    @StatementBudget(value = 8, invalidations = 1)
     public String updateTransaction(
             @PathVariable Long id,
             @RequestParam String description,
@@ -170,11 +320,10 @@ public class TransactionController {
             @RequestParam Long categoryId,
             @RequestParam String type,
             @RequestParam String date,
-            HttpSession session,
+            SessionUser user,
             Model model) {
 
         try {
-            User user = (User) session.getAttribute("user");
             if (user == null) {
                 return "redirect:/login";
             }
@@ -205,8 +354,8 @@ public class TransactionController {
      * Deleta uma transação
      */
     @GetMapping("/delete/{id}")
-    public String deleteTransaction(@PathVariable Long id, HttpSession session) {
-        User user = (User) session.getAttribute("user");
+    @StatementBudget(value = 8, invalidations = 1)
+    public String deleteTransaction(@PathVariable Long id, SessionUser user) {
         if (user == null) {
             return "redirect:/login";
         }
@@ -0,0 +1,115 @@
+package com.financasplus.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entidade CacheInvalidation - Aviso de escrita para as demais instâncias da aplicação
+ * Gravado na mesma transação da escrita; cada instância lê periodicamente os avisos das outras
+ * e descarta o estado em memória correspondente (categorias, principal do usuário, colunas,
+ * índice de busca e versões das ETags)
+ */
+@Entity
+@Table(name = "cache_invalidations", indexes = {
+        @Index(name = "idx_cache_invalidations_created_at", columnList = "created_at")
+})
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "node_id", nullable = false, length = 64)
+    private String nodeId;
+
+    @Column(nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private Topic topic;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * Meses afetados separados por vírgula (2026-10,2026-11); nulo indica todos os meses do usuário
+     */
+    @Column(length = 1000)
+    private String months;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Construtores
+    public CacheInvalidation() {
+    }
+
+    public CacheInvalidation(String nodeId, Topic topic, Long userId, String months) {
+        this.nodeId = nodeId;
+        this.topic = topic;
+        this.userId = userId;
+        this.months = months;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public Topic getTopic() {
+        return topic;
+    }
+
+    public void setTopic(Topic topic) {
+        this.topic = topic;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getMonths() {
+        return months;
+    }
+
+    public void setMonths(String months) {
+        this.months = months;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * O que foi alterado
+     */
+    public enum Topic {
+        /** Categorias (cadastro global) */
+        CATEGORIES,
+        /** Dados cadastrais de um usuário */
+        USER,
+        /** Exclusão de um usuário */
+        USER_DELETED,
+        /** Transações de um usuário, nos meses indicados */
+        TRANSACTIONS
+    }
+}
@@ -0,0 +1,116 @@
+package com.financasplus.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Entidade MonthlyRollup - Total mensal de transações de um usuário
+ * Uma linha por (usuário, mês, categoria, tipo), mantida incrementalmente
+ * a cada escrita de transação para alimentar os relatórios mensais
+ */
+@Entity
+@Table(name = "monthly_rollups",
+       uniqueConstraints = @UniqueConstraint(
+               name = "uk_monthly_rollups_key",
+               columnNames = {"user_id", "reference_month", "category_id", "type"}))
+public class MonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "reference_month", nullable = false, length = 7)
+    private YearMonth month;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Transaction.TransactionType type;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    @ColumnDefault("0")
+    private BigDecimal total = BigDecimal.ZERO;
+
+    @Column(name = "transaction_count", nullable = false)
+    @ColumnDefault("0")
+    private long transactionCount;
+
+    // Construtores
+    public MonthlyRollup() {
+    }
+
+    public MonthlyRollup(Long userId, YearMonth month, Long categoryId, Transaction.TransactionType type,
+                         BigDecimal total, long transactionCount) {
+        this.userId = userId;
+        this.month = month;
+        this.categoryId = categoryId;
+        this.type = type;
+        this.total = total;
+        this.transactionCount = transactionCount;
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public void setMonth(YearMonth month) {
+        this.month = month;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Transaction.TransactionType getType() {
+        return type;
+    }
+
+    public void setType(Transaction.TransactionType type) {
+        this.type = type;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+}
@@ -7,13 +7,23 @@ import java.time.LocalDateTime;
 /**
  * Entidade Transaction - Representa uma transação financeira (receita ou despesa)
  * Cada transação pertence a um usuário e tem uma categoria
+ * Os índices compostos começam por user_id, pois todas as consultas filtram pelo usuário;
+ * (user_id, date DESC, id DESC) segue a ordem da listagem para evitar a ordenação no banco
+ * O índice em updated_at permite à inicialização ler só as linhas alteradas depois do último snapshot
+ * O id vem de uma sequence com alocação em blocos, o que permite ao Hibernate agrupar as inserções em lote
  */
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_user_date", columnList = "user_id, date DESC, id DESC"),
+        @Index(name = "idx_transactions_user_type_date", columnList = "user_id, type, date"),
+        @Index(name = "idx_transactions_user_category_date", columnList = "user_id, category_id, date"),
+        @Index(name = "idx_transactions_updated_at", columnList = "updated_at")
+})
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
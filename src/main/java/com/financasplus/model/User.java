@@ -34,6 +34,10 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Incrementada a cada atualização; usada para detectar dados desatualizados na sessão
+    @Version
+    private Long version;
+
     // Relacionamento com Transações
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Transaction> transactions;
@@ -108,6 +112,14 @@ public class User {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<Transaction> getTransactions() {
         return transactions;
     }
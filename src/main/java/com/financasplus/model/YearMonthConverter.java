@@ -0,0 +1,23 @@
+package com.financasplus.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.YearMonth;
+
+/**
+ * Converte YearMonth para texto no formato yyyy-MM (ordenável) e vice-versa
+ */
+@Converter(autoApply = true)
+public class YearMonthConverter implements AttributeConverter<YearMonth, String> {
+
+    @Override
+    public String convertToDatabaseColumn(YearMonth yearMonth) {
+        return yearMonth == null ? null : yearMonth.toString();
+    }
+
+    @Override
+    public YearMonth convertToEntityAttribute(String value) {
+        return value == null ? null : YearMonth.parse(value);
+    }
+}
@@ -0,0 +1,35 @@
+package com.financasplus.repository;
+
+import com.financasplus.model.CacheInvalidation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository para a entidade CacheInvalidation
+ * Fornece a leitura dos avisos das outras instâncias e a limpeza dos antigos
+ */
+@Repository
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+
+    /**
+     * Busca os avisos de outras instâncias criados a partir de um instante, na ordem de gravação
+     */
+    @Query("SELECT c FROM CacheInvalidation c WHERE c.createdAt >= :since AND c.nodeId <> :nodeId ORDER BY c.id")
+    List<CacheInvalidation> findFromOtherNodesSince(
+            @Param("since") LocalDateTime since,
+            @Param("nodeId") String nodeId
+    );
+
+    /**
+     * Remove os avisos criados antes de um instante
+     */
+    @Modifying
+    @Query("DELETE FROM CacheInvalidation c WHERE c.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,18 @@
+package com.financasplus.repository;
+
+import com.financasplus.model.Transaction;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção com a soma e a quantidade de transações de uma categoria e tipo
+ * Preenchida diretamente por consultas agrupadas (GROUP BY) no banco
+ */
+public record CategoryTotal(
+        Long categoryId,
+        String categoryName,
+        String color,
+        Transaction.TransactionType type,
+        BigDecimal total,
+        Long count) {
+}
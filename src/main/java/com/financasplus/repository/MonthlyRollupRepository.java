@@ -0,0 +1,75 @@
+package com.financasplus.repository;
+
+import com.financasplus.model.MonthlyRollup;
+import com.financasplus.model.Transaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Repository para a entidade MonthlyRollup
+ * Fornece a leitura dos totais mensais e sua atualização incremental
+ */
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, Long> {
+
+    /**
+     * Busca os totais de um usuário em um mês já com o nome e a cor da categoria
+     */
+    @Query("SELECT new com.financasplus.repository.CategoryTotal(c.id, c.name, c.color, r.type, r.total, r.transactionCount) " +
+           "FROM MonthlyRollup r JOIN Category c ON c.id = r.categoryId " +
+           "WHERE r.userId = :userId AND r.month = :month ORDER BY c.id")
+    List<CategoryTotal> findCategoryTotals(
+            @Param("userId") Long userId,
+            @Param("month") YearMonth month
+    );
+
+    /**
+     * Busca todos os totais mensais de um usuário
+     */
+    List<MonthlyRollup> findByUserId(Long userId);
+
+    /**
+     * Soma as variações de valor e quantidade a uma linha de total mensal
+     * Retorna o número de linhas atualizadas (0 se a linha ainda não existe)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE MonthlyRollup r SET r.total = r.total + :amount, r.transactionCount = r.transactionCount + :count " +
+           "WHERE r.userId = :userId AND r.month = :month AND r.categoryId = :categoryId AND r.type = :type")
+    int applyDelta(
+            @Param("userId") Long userId,
+            @Param("month") YearMonth month,
+            @Param("categoryId") Long categoryId,
+            @Param("type") Transaction.TransactionType type,
+            @Param("amount") BigDecimal amount,
+            @Param("count") long count
+    );
+
+    /**
+     * Cria a linha da chave com totais zerados se ela ainda não existir (sem alterar uma linha existente)
+     * O MERGE com KEY espera pela transação que estiver criando a mesma linha em vez de falhar na chave única
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "MERGE INTO monthly_rollups (user_id, reference_month, category_id, type) " +
+                   "KEY (user_id, reference_month, category_id, type) " +
+                   "VALUES (:userId, :month, :categoryId, :type)", nativeQuery = true)
+    int ensureRow(
+            @Param("userId") Long userId,
+            @Param("month") String month,
+            @Param("categoryId") Long categoryId,
+            @Param("type") String type
+    );
+
+    /**
+     * Remove todos os totais mensais de um usuário
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM MonthlyRollup r WHERE r.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
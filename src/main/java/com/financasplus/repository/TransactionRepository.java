@@ -2,14 +2,20 @@ package com.financasplus.repository;
 
 import com.financasplus.model.Transaction;
 import com.financasplus.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository para a entidade Transaction
@@ -24,15 +30,63 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     List<Transaction> findByUserOrderByDateDesc(User user);
 
     /**
-     * Busca transações de um usuário em um período específico
+     * Busca as transações anteriores ao cursor (date, id), das mais recentes para as mais antigas
+     * O filtro redundante "t.date <= :date" e o user.id no ORDER BY permitem que o banco
+     * percorra o índice (user_id, date DESC, id DESC) já ordenado e pare no limite
      */
-    @Query("SELECT t FROM Transaction t WHERE t.user = :user AND t.date BETWEEN :startDate AND :endDate ORDER BY t.date DESC")
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category WHERE t.user = :user " +
+           "AND t.date <= :date AND (t.date < :date OR t.id < :id) " +
+           "ORDER BY t.user.id, t.date DESC, t.id DESC")
+    List<Transaction> findOlderThan(
+            @Param("user") User user,
+            @Param("date") LocalDateTime date,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    /**
+     * Busca as transações posteriores ao cursor (date, id), das mais antigas para as mais recentes
+     */
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category WHERE t.user = :user " +
+           "AND t.date >= :date AND (t.date > :date OR t.id > :id) " +
+           "ORDER BY t.date ASC, t.id ASC")
+    List<Transaction> findNewerThan(
+            @Param("user") User user,
+            @Param("date") LocalDateTime date,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    /**
+     * Busca transações de um usuário em um período específico (já com a categoria carregada)
+     */
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category WHERE t.user = :user AND t.date BETWEEN :startDate AND :endDate ORDER BY t.date DESC")
     List<Transaction> findByUserAndDateRange(
             @Param("user") User user,
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate
     );
 
+    /**
+     * Percorre as transações de um usuário para exportação, sem materializar a lista
+     * Datas e tipo são opcionais (null ignora o filtro); o período segue o BETWEEN de findByUserAndDateRange
+     * O Stream deve ser consumido dentro de uma transação e fechado ao final
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.user = :user " +
+           "AND (:startDate IS NULL OR t.date >= :startDate) AND (:endDate IS NULL OR t.date <= :endDate) " +
+           "AND (:type IS NULL OR t.type = :type) " +
+           "ORDER BY t.user.id, t.date DESC, t.id DESC")
+    Stream<Transaction> streamForExport(
+            @Param("user") User user,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("type") Transaction.TransactionType type
+    );
+
     /**
      * Busca transações de um usuário por tipo (receita ou despesa)
      */
@@ -82,4 +136,80 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate
     );
+
+    /**
+     * Colunas das análises em memória, em ordem de data: data, valor, id da categoria e tipo
+     * O Stream deve ser consumido dentro de uma transação e fechado ao final
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.date, t.amount, t.category.id, t.type FROM Transaction t " +
+           "WHERE t.user.id = :userId ORDER BY t.date")
+    Stream<Object[]> streamColumns(@Param("userId") Long userId);
+
+    /**
+     * Id, id do usuário e descrição de todas as transações (reconstrução do índice de busca)
+     * O Stream deve ser consumido dentro de uma transação e fechado ao final
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id, t.user.id, t.description FROM Transaction t")
+    Stream<Object[]> streamDescriptions();
+
+    /**
+     * Id, id do usuário e descrição das transações dos usuários informados (atualização do índice
+     * de busca restaurado de um snapshot). O Stream deve ser consumido dentro de uma transação
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id, t.user.id, t.description FROM Transaction t WHERE t.user.id IN :userIds")
+    Stream<Object[]> streamDescriptionsOfUsers(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Usuários com transações criadas ou alteradas depois do instante informado (usa o índice em updated_at)
+     */
+    @Query("SELECT DISTINCT t.user.id FROM Transaction t WHERE t.updatedAt > :since")
+    List<Long> findUserIdsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Quantidade de transações por usuário (id do usuário, quantidade); exclusões não deixam
+     * rastro em updated_at, então é a contagem que as revela ao restaurar um snapshot
+     */
+    @Query("SELECT t.user.id, COUNT(t) FROM Transaction t GROUP BY t.user.id")
+    List<Object[]> countByUser();
+
+    /**
+     * Busca transações do usuário pelos ids (resultado da busca), da mais nova para a mais antiga
+     */
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.category WHERE t.user = :user AND t.id IN :ids ORDER BY t.id DESC")
+    List<Transaction> findByUserAndIds(@Param("user") User user, @Param("ids") List<Long> ids);
+
+    /**
+     * Agrupa as transações de um usuário por ano, mês, categoria e tipo
+     * Cada linha contém: ano, mês, id da categoria, tipo, soma e quantidade
+     */
+    @Query("SELECT YEAR(t.date), MONTH(t.date), t.category.id, t.type, SUM(t.amount), COUNT(t) " +
+           "FROM Transaction t WHERE t.user = :user " +
+           "GROUP BY YEAR(t.date), MONTH(t.date), t.category.id, t.type")
+    List<Object[]> summarizeByMonth(@Param("user") User user);
+
+    /**
+     * Soma as transações de um usuário por categoria e tipo em uma única consulta
+     * Os limites de data são opcionais (null ignora o limite)
+     */
+    @Query("SELECT new com.financasplus.repository.CategoryTotal(c.id, c.name, c.color, t.type, SUM(t.amount), COUNT(t)) " +
+           "FROM Transaction t JOIN t.category c WHERE t.user = :user " +
+           "AND (:startDate IS NULL OR t.date >= :startDate) AND (:endDate IS NULL OR t.date <= :endDate) " +
+           "GROUP BY c.id, c.name, c.color, t.type ORDER BY c.id")
+    List<CategoryTotal> sumByCategory(
+            @Param("user") User user,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate
+    );
 }
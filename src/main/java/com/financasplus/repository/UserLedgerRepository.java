@@ -0,0 +1,50 @@
+package com.financasplus.repository;
+
+import com.financasplus.model.UserLedger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Repository para a entidade UserLedger
+ * Fornece a atualização atômica dos totais consolidados do usuário
+ */
+@Repository
+public interface UserLedgerRepository extends JpaRepository<UserLedger, Long> {
+
+    /**
+     * Soma as variações de receita e despesa aos totais do usuário
+     * Retorna o número de linhas atualizadas (0 se o ledger ainda não existe)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE UserLedger l SET l.totalIncome = l.totalIncome + :income, " +
+           "l.totalExpenses = l.totalExpenses + :expenses, " +
+           "l.balance = l.balance + :income - :expenses, " +
+           "l.updatedAt = :now WHERE l.userId = :userId")
+    int applyDelta(
+            @Param("userId") Long userId,
+            @Param("income") BigDecimal income,
+            @Param("expenses") BigDecimal expenses,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Grava os totais do usuário, criando a linha se ela não existir
+     * O MERGE com KEY espera pela transação que estiver criando a mesma linha em vez de falhar na chave primária
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "MERGE INTO user_ledgers (user_id, total_income, total_expenses, balance, updated_at) " +
+                   "KEY (user_id) VALUES (:userId, :income, :expenses, :balance, :now)", nativeQuery = true)
+    int merge(
+            @Param("userId") Long userId,
+            @Param("income") BigDecimal income,
+            @Param("expenses") BigDecimal expenses,
+            @Param("balance") BigDecimal balance,
+            @Param("now") LocalDateTime now
+    );
+}
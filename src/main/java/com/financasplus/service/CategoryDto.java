@@ -0,0 +1,15 @@
+package com.financasplus.service;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.financasplus.model.Category;
+
+/**
+ * Categoria na API REST (/api/v1), com o mesmo filtro de campos das transações
+ */
+@JsonFilter("fields")
+public record CategoryDto(Long id, String name, String description, String color) {
+
+    public static CategoryDto of(Category category) {
+        return new CategoryDto(category.getId(), category.getName(), category.getDescription(), category.getColor());
+    }
+}
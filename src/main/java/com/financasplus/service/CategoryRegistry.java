@@ -0,0 +1,136 @@
+package com.financasplus.service;
+
+import com.financasplus.model.CacheInvalidation;
+import com.financasplus.model.Category;
+import com.financasplus.repository.CategoryRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Registro em memória das categorias
+ * Mantém um snapshot imutável (lista, índice por id e mapa nome→id) carregado na
+ * inicialização e substituído por inteiro (copy-on-write) quando uma categoria muda,
+ * para que leituras não consultem o banco
+ */
+@Component
+public class CategoryRegistry {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(List.of(), Map.of(), Map.of(), 0);
+
+    /**
+     * Carrega as categorias na inicialização da aplicação
+     */
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /**
+     * Todas as categorias, na ordem do id
+     */
+    public List<Category> findAll() {
+        return snapshot.categories();
+    }
+
+    /**
+     * Busca uma categoria pelo ID
+     */
+    public Optional<Category> findById(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(snapshot.byId().get(id));
+    }
+
+    /**
+     * Busca o ID de uma categoria pelo nome
+     */
+    public Optional<Long> findIdByName(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(snapshot.idsByName().get(name));
+    }
+
+    /**
+     * Busca uma categoria pelo nome
+     */
+    public Optional<Category> findByName(String name) {
+        return findIdByName(name).flatMap(this::findById);
+    }
+
+    /**
+     * Número do snapshot atual, incrementado a cada recarga (compõe as ETags das páginas)
+     */
+    public long generation() {
+        return snapshot.generation();
+    }
+
+    /**
+     * Recarrega o snapshot a partir do banco
+     */
+    public synchronized void reload() {
+        List<Category> categories = new ArrayList<>();
+        Map<Long, Category> byId = new HashMap<>();
+        Map<String, Long> idsByName = new HashMap<>();
+
+        for (Category category : categoryRepository.findAll()) {
+            Category copy = copyOf(category);
+            categories.add(copy);
+            byId.put(copy.getId(), copy);
+            idsByName.put(copy.getName(), copy.getId());
+        }
+        categories.sort((a, b) -> a.getId().compareTo(b.getId()));
+
+        snapshot = new Snapshot(List.copyOf(categories), Map.copyOf(byId), Map.copyOf(idsByName),
+                snapshot.generation() + 1);
+    }
+
+    /**
+     * Recarrega o snapshot após o commit da transação atual (ou imediatamente, se não houver)
+     * Assim uma escrita desfeita por rollback nunca chega ao registro
+     */
+    public void reloadAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload();
+            }
+        });
+    }
+
+    /**
+     * Recarrega o snapshot quando as categorias foram alteradas em outra instância (InvalidationBus)
+     */
+    @EventListener
+    public void onDataInvalidated(DataInvalidatedEvent event) {
+        if (event.topic() == CacheInvalidation.Topic.CATEGORIES) {
+            reload();
+        }
+    }
+
+    /**
+     * Cópia desanexada da entidade, para que o snapshot não dependa do contexto de persistência
+     */
+    private static Category copyOf(Category category) {
+        Category copy = new Category(category.getName(), category.getDescription(), category.getColor());
+        copy.setId(category.getId());
+        copy.setCreatedAt(category.getCreatedAt());
+        return copy;
+    }
+
+    private record Snapshot(List<Category> categories, Map<Long, Category> byId, Map<String, Long> idsByName,
+                            long generation) {
+    }
+}
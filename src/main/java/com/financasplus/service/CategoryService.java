@@ -2,44 +2,56 @@ package com.financasplus.service;
 
 import com.financasplus.model.Category;
 import com.financasplus.repository.CategoryRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Service para gerenciar operações de Category
  * Contém a lógica de negócio relacionada a categorias
+ * As leituras vêm do CategoryRegistry; as escritas atualizam o registro após o commit
  */
 @Service
 @Transactional
+@Timed(value = "financas.service", histogram = true)
 public class CategoryService {
 
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
     /**
-     * Busca todas as categorias
+     * Busca todas as categorias (sem consultar o banco)
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<Category> findAll() {
-        return categoryRepository.findAll();
+        return categoryRegistry.findAll();
     }
 
     /**
      * Busca uma categoria pelo ID
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<Category> findById(Long id) {
-        return categoryRepository.findById(id);
+        return categoryRegistry.findById(id);
     }
 
     /**
      * Busca uma categoria pelo nome
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<Category> findByName(String name) {
-        return categoryRepository.findByName(name);
+        return categoryRegistry.findByName(name);
     }
 
     /**
@@ -49,7 +61,10 @@ public class CategoryService {
         if (categoryRepository.existsByName(category.getName())) {
             throw new IllegalArgumentException("Categoria com este nome já existe!");
         }
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        categoryRegistry.reloadAfterCommit();
+        invalidationBus.categoriesChanged();
+        return saved;
     }
 
     /**
@@ -72,7 +87,10 @@ public class CategoryService {
             category.setColor(categoryDetails.getColor());
         }
 
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        categoryRegistry.reloadAfterCommit();
+        invalidationBus.categoriesChanged();
+        return saved;
     }
 
     /**
@@ -80,27 +98,7 @@ public class CategoryService {
      */
     public void deleteCategory(Long id) {
         categoryRepository.deleteById(id);
-    }
-
-    /**
-     * Inicializa as categorias padrão
-     */
-    public void initializeDefaultCategories() {
-        if (categoryRepository.count() == 0) {
-            String[][] defaultCategories = {
-                {"Alimentação", "Gastos com comida e bebida", "#FF6B6B"},
-                {"Transporte", "Gastos com transporte", "#4ECDC4"},
-                {"Lazer", "Gastos com lazer e diversão", "#FFE66D"},
-                {"Contas Fixas", "Contas fixas e obrigações", "#95E1D3"},
-                {"Saúde", "Gastos com saúde", "#C7CEEA"},
-                {"Educação", "Gastos com educação", "#B5EAD7"},
-                {"Outros", "Outros gastos", "#D4A5A5"}
-            };
-
-            for (String[] cat : defaultCategories) {
-                Category category = new Category(cat[0], cat[1], cat[2]);
-                categoryRepository.save(category);
-            }
-        }
+        categoryRegistry.reloadAfterCommit();
+        invalidationBus.categoriesChanged();
     }
 }
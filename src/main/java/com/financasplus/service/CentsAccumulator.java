@@ -0,0 +1,104 @@
+package com.financasplus.service;
+
+import java.util.Arrays;
+
+/**
+ * Acumuladores primitivos por chave: soma (em centavos), quantidade, mínimo e máximo
+ * As chaves são índices inteiros pequenos (ex.: posição da categoria) e os vetores crescem
+ * conforme a maior chave usada; somar não aloca objetos. Não é thread-safe
+ */
+public final class CentsAccumulator {
+
+    private long[] sums;
+    private long[] counts;
+    private long[] mins;
+    private long[] maxs;
+
+    public CentsAccumulator(int expectedKeys) {
+        int size = Math.max(expectedKeys, 1);
+        sums = new long[size];
+        counts = new long[size];
+        mins = new long[size];
+        maxs = new long[size];
+        Arrays.fill(mins, Long.MAX_VALUE);
+        Arrays.fill(maxs, Long.MIN_VALUE);
+    }
+
+    /**
+     * Acumula um valor em centavos na chave
+     */
+    public void add(int key, long cents) {
+        if (key >= sums.length) {
+            grow(key + 1);
+        }
+        sums[key] = Math.addExact(sums[key], cents);
+        counts[key]++;
+        if (cents < mins[key]) {
+            mins[key] = cents;
+        }
+        if (cents > maxs[key]) {
+            maxs[key] = cents;
+        }
+    }
+
+    /**
+     * Quantidade de chaves que os vetores comportam (maior chave usada + 1, no mínimo)
+     */
+    public int size() {
+        return sums.length;
+    }
+
+    public long sum(int key) {
+        return key < sums.length ? sums[key] : 0;
+    }
+
+    public long count(int key) {
+        return key < counts.length ? counts[key] : 0;
+    }
+
+    /**
+     * Menor valor da chave (0 se a chave não tiver valores)
+     */
+    public long min(int key) {
+        return count(key) == 0 ? 0 : mins[key];
+    }
+
+    /**
+     * Maior valor da chave (0 se a chave não tiver valores)
+     */
+    public long max(int key) {
+        return count(key) == 0 ? 0 : maxs[key];
+    }
+
+    /**
+     * Soma de todas as chaves
+     */
+    public long total() {
+        long total = 0;
+        for (long sum : sums) {
+            total = Math.addExact(total, sum);
+        }
+        return total;
+    }
+
+    /**
+     * Zera os acumuladores, mantendo os vetores para reutilização
+     */
+    public void clear() {
+        Arrays.fill(sums, 0);
+        Arrays.fill(counts, 0);
+        Arrays.fill(mins, Long.MAX_VALUE);
+        Arrays.fill(maxs, Long.MIN_VALUE);
+    }
+
+    private void grow(int minSize) {
+        int size = Math.max(minSize, sums.length * 2);
+        int previous = sums.length;
+        sums = Arrays.copyOf(sums, size);
+        counts = Arrays.copyOf(counts, size);
+        mins = Arrays.copyOf(mins, size);
+        maxs = Arrays.copyOf(maxs, size);
+        Arrays.fill(mins, previous, size, Long.MAX_VALUE);
+        Arrays.fill(maxs, previous, size, Long.MIN_VALUE);
+    }
+}
@@ -0,0 +1,168 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Transaction;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de extratos em CSV (UTF-8)
+ * A primeira linha é o cabeçalho; o separador (";" ou ",") é detectado por ela
+ * Colunas obrigatórias: data, descricao e valor. Opcionais: tipo e categoria
+ * Sem a coluna tipo, valores negativos são despesas e positivos são receitas
+ */
+public class CsvStatementReader implements StatementReader {
+
+    private static final DateTimeFormatter BRAZILIAN_DATE = DateTimeFormatter.ofPattern("dd/MM/uuuu")
+            .withResolverStyle(ResolverStyle.STRICT);
+
+    private final BufferedReader reader;
+    private char separator;
+    private int dateColumn = -1;
+    private int descriptionColumn = -1;
+    private int amountColumn = -1;
+    private int typeColumn = -1;
+    private int categoryColumn = -1;
+    private int row;
+
+    public CsvStatementReader(InputStream input) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        readHeader();
+    }
+
+    @Override
+    public StatementLine next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            row++;
+        } while (line.isBlank());
+
+        List<String> fields = split(line);
+        String dateText = field(fields, dateColumn);
+        String description = field(fields, descriptionColumn);
+        String amountText = field(fields, amountColumn);
+
+        if (description.isEmpty()) {
+            throw new StatementLineException(row, "Descrição vazia");
+        }
+        LocalDate date = StatementValues.date(row, parseDate(dateText), dateText);
+        BigDecimal amount = StatementValues.amount(row, amountText);
+
+        Transaction.TransactionType type;
+        if (typeColumn >= 0 && !field(fields, typeColumn).isEmpty()) {
+            type = parseType(field(fields, typeColumn));
+        } else {
+            type = amount.signum() < 0 ? Transaction.TransactionType.DESPESA : Transaction.TransactionType.RECEITA;
+        }
+
+        String category = categoryColumn >= 0 ? field(fields, categoryColumn) : "";
+        return new StatementLine(row, date.atStartOfDay(), StatementValues.description(description),
+                amount.abs(), type, category.isEmpty() ? null : category);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Lê o cabeçalho e localiza as colunas pelo nome (em português ou inglês)
+     */
+    private void readHeader() throws IOException {
+        String header;
+        do {
+            header = reader.readLine();
+            if (header == null) {
+                throw new IllegalArgumentException("Arquivo CSV vazio!");
+            }
+            row++;
+        } while (header.isBlank());
+
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        separator = header.indexOf(';') >= 0 ? ';' : ',';
+
+        List<String> columns = split(header);
+        for (int i = 0; i < columns.size(); i++) {
+            switch (StatementValues.normalize(columns.get(i))) {
+                case "data", "date" -> dateColumn = i;
+                case "descricao", "description", "historico" -> descriptionColumn = i;
+                case "valor", "amount" -> amountColumn = i;
+                case "tipo", "type" -> typeColumn = i;
+                case "categoria", "category" -> categoryColumn = i;
+                default -> {
+                    // Coluna ignorada
+                }
+            }
+        }
+        if (dateColumn < 0 || descriptionColumn < 0 || amountColumn < 0) {
+            throw new IllegalArgumentException("O cabeçalho do CSV deve ter as colunas data, descricao e valor!");
+        }
+    }
+
+    /**
+     * Divide uma linha pelo separador, respeitando campos entre aspas ("" é uma aspa literal)
+     */
+    private List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column < fields.size() ? fields.get(column).trim() : "";
+    }
+
+    private static LocalDate parseDate(String text) {
+        try {
+            return text.indexOf('/') >= 0 ? LocalDate.parse(text, BRAZILIAN_DATE) : LocalDate.parse(text);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private Transaction.TransactionType parseType(String text) {
+        return switch (StatementValues.normalize(text)) {
+            case "receita", "credito", "c", "income" -> Transaction.TransactionType.RECEITA;
+            case "despesa", "debito", "d", "expense" -> Transaction.TransactionType.DESPESA;
+            default -> throw new StatementLineException(row, "Tipo inválido: " + text);
+        };
+    }
+}
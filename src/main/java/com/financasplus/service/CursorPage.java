@@ -0,0 +1,10 @@
+package com.financasplus.service;
+
+import java.util.List;
+
+/**
+ * Página da API REST paginada por cursor: next leva aos itens mais antigos e previous aos
+ * mais recentes (null quando não há página naquela direção)
+ */
+public record CursorPage<T>(List<T> items, String next, String previous) {
+}
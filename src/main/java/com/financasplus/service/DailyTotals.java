@@ -0,0 +1,200 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Transaction;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Somas acumuladas (prefix sums) por dia das transações de um usuário, por categoria e tipo
+ * prefix[série][i] é a soma em centavos dos dias firstDay .. firstDay + i - 1, então o total de
+ * qualquer intervalo de dias custa duas leituras. Série = id da categoria * 2 + (1 se receita)
+ * Imutável: alterações geram uma nova instância copiando só as séries afetadas
+ */
+public final class DailyTotals {
+
+    private final int firstDay;
+    private final int days;
+    private final long[][] prefix;
+
+    private DailyTotals(int firstDay, int days, long[][] prefix) {
+        this.firstDay = firstDay;
+        this.days = days;
+        this.prefix = prefix;
+    }
+
+    /**
+     * Monta as somas a partir das colunas, em uma passada
+     */
+    public static DailyTotals of(TransactionColumns columns) {
+        int size = columns.size();
+        if (size == 0) {
+            return new DailyTotals(0, 0, new long[0][]);
+        }
+        int firstDay = columns.day(0);
+        int days = columns.day(size - 1) - firstDay + 1;
+        int maxCategory = 0;
+        for (int i = 0; i < size; i++) {
+            maxCategory = Math.max(maxCategory, columns.category(i));
+        }
+
+        long[][] prefix = new long[(maxCategory + 1) * 2][];
+        for (int i = 0; i < size; i++) {
+            int series = series(columns.category(i), columns.isIncome(i));
+            if (prefix[series] == null) {
+                prefix[series] = new long[days + 1];
+            }
+            int slot = columns.day(i) - firstDay + 1;
+            prefix[series][slot] = Math.addExact(prefix[series][slot], columns.cents(i));
+        }
+        for (long[] values : prefix) {
+            accumulate(values);
+        }
+        return new DailyTotals(firstDay, days, prefix);
+    }
+
+    /**
+     * Quantidade de ids de categoria cobertos (as categorias vão de 0 a categoryLimit() - 1)
+     */
+    public int categoryLimit() {
+        return prefix.length / 2;
+    }
+
+    /**
+     * Memória das séries em linhas equivalentes das colunas, para entrar no limite financas.columns.max-rows
+     * Uma linha de TransactionColumns ocupa cerca de 14 bytes: cada duas posições long contam como uma
+     */
+    public long footprint() {
+        long slots = 0;
+        for (long[] values : prefix) {
+            if (values != null) {
+                slots += values.length;
+            }
+        }
+        return slots / 2;
+    }
+
+    /**
+     * Soma em centavos de uma categoria e tipo entre os dias informados (epochDay, inclusive)
+     */
+    public long sum(int categoryId, boolean income, int fromDay, int toDay) {
+        if (categoryId < 0 || categoryId >= categoryLimit()) {
+            return 0;
+        }
+        long[] values = prefix[series(categoryId, income)];
+        if (values == null || fromDay > toDay) {
+            return 0;
+        }
+        return values[slot(toDay + 1)] - values[slot(fromDay)];
+    }
+
+    /**
+     * Nova instância com as transações removidas e adicionadas
+     * Dias ou categorias fora dos cobertos ampliam as somas: os dias anteriores começam em zero
+     * e os posteriores repetem o último acumulado
+     */
+    public DailyTotals withChanges(List<TransactionSnapshot> removed, List<TransactionSnapshot> added) {
+        int newFirst = firstDay;
+        int newLast = firstDay + days - 1;
+        int seriesCount = prefix.length;
+        boolean covered = days > 0;
+        for (List<TransactionSnapshot> snapshots : List.of(removed, added)) {
+            for (TransactionSnapshot snapshot : snapshots) {
+                int day = day(snapshot);
+                newFirst = covered ? Math.min(newFirst, day) : day;
+                newLast = covered ? Math.max(newLast, day) : day;
+                covered = true;
+                seriesCount = Math.max(seriesCount, series(category(snapshot), true) + 1);
+            }
+        }
+        if (!covered) {
+            return this;
+        }
+        int newDays = newLast - newFirst + 1;
+        boolean resized = newFirst != firstDay || newDays != days;
+        long[][] updated = resized ? resize(newFirst, newDays, seriesCount) : Arrays.copyOf(prefix, seriesCount);
+
+        // Diferenças por dia; cada série alterada é copiada e reacumulada uma única vez
+        long[][] deltas = new long[seriesCount][];
+        collect(deltas, newFirst, newDays, removed, -1);
+        collect(deltas, newFirst, newDays, added, 1);
+        for (int series = 0; series < deltas.length; series++) {
+            long[] delta = deltas[series];
+            if (delta == null) {
+                continue;
+            }
+            long[] values = updated[series] == null ? new long[newDays + 1]
+                    : resized ? updated[series] : updated[series].clone();
+            long running = 0;
+            for (int i = 1; i <= newDays; i++) {
+                running = Math.addExact(running, delta[i]);
+                values[i] = Math.addExact(values[i], running);
+            }
+            updated[series] = values;
+        }
+        return new DailyTotals(newFirst, newDays, updated);
+    }
+
+    /**
+     * Cópia de todas as séries nos novos dias (que contêm os atuais)
+     */
+    private long[][] resize(int newFirst, int newDays, int seriesCount) {
+        long[][] resized = new long[seriesCount][];
+        int shift = firstDay - newFirst;
+        for (int series = 0; series < prefix.length; series++) {
+            long[] values = prefix[series];
+            if (values == null) {
+                continue;
+            }
+            long[] copy = new long[newDays + 1];
+            System.arraycopy(values, 0, copy, shift, days + 1);
+            Arrays.fill(copy, shift + days + 1, newDays + 1, values[days]);
+            resized[series] = copy;
+        }
+        return resized;
+    }
+
+    private static void collect(long[][] deltas, int first, int days, List<TransactionSnapshot> snapshots, int sign) {
+        for (TransactionSnapshot snapshot : snapshots) {
+            int series = series(category(snapshot), snapshot.type() == Transaction.TransactionType.RECEITA);
+            if (deltas[series] == null) {
+                deltas[series] = new long[days + 1];
+            }
+            int slot = day(snapshot) - first + 1;
+            long cents = Money.toCents(snapshot.amount());
+            deltas[series][slot] = Math.addExact(deltas[series][slot], sign * cents);
+        }
+    }
+
+    private static int day(TransactionSnapshot snapshot) {
+        return Math.toIntExact(snapshot.date().toLocalDate().toEpochDay());
+    }
+
+    private static int category(TransactionSnapshot snapshot) {
+        long categoryId = snapshot.categoryId();
+        if (categoryId < 0 || categoryId > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Id de categoria fora do intervalo das colunas: " + categoryId);
+        }
+        return (int) categoryId;
+    }
+
+    /**
+     * Posição no vetor acumulado para o início de um dia, limitada aos dias cobertos
+     */
+    private int slot(long day) {
+        return (int) Math.max(0, Math.min(days, day - firstDay));
+    }
+
+    private static int series(int categoryId, boolean income) {
+        return categoryId * 2 + (income ? 1 : 0);
+    }
+
+    private static void accumulate(long[] values) {
+        if (values == null) {
+            return;
+        }
+        for (int i = 1; i < values.length; i++) {
+            values[i] = Math.addExact(values[i], values[i - 1]);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Transaction;
+import com.financasplus.model.UserLedger;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dados exibidos no dashboard: totais do ledger, despesas por categoria e transações recentes
+ */
+public record DashboardData(
+        UserLedger ledger,
+        Map<String, BigDecimal> expensesByCategory,
+        List<Transaction> recentTransactions) {
+}
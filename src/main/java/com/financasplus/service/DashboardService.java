@@ -0,0 +1,51 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Transaction;
+import com.financasplus.model.User;
+import com.financasplus.model.UserLedger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Service para montar os dados do dashboard
+ * As três consultas são independentes e rodam em paralelo, cada uma na sua transação;
+ * por isso este service não abre uma transação própria
+ */
+@Service
+public class DashboardService {
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionColumnStore columnStore;
+
+    @Autowired
+    private ParallelQueries parallelQueries;
+
+    /**
+     * Carrega os dados do dashboard com as N transações mais recentes
+     * Com N = 0 as transações não são consultadas (lista já renderizada em cache)
+     */
+    public DashboardData load(User user, int recentTransactions) {
+        try (ParallelQueries.Scope scope = parallelQueries.open()) {
+            Supplier<UserLedger> ledger = scope.fork(() -> ledgerService.getLedger(user));
+            Supplier<Map<String, BigDecimal>> expensesByCategory = columnStore.isEnabled()
+                    ? scope.fork(() -> columnStore.summarize(user.getId(), null, null).expensesByCategory())
+                    : scope.fork(() -> transactionService.calculateExpensesByCategory(user));
+            Supplier<List<Transaction>> recent = recentTransactions == 0
+                    ? List::of
+                    : scope.fork(() -> transactionService.findRecentByUser(user, recentTransactions));
+            scope.join();
+            return new DashboardData(ledger.get(), expensesByCategory.get(), recent.get());
+        }
+    }
+}
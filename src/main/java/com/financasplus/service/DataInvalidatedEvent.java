@@ -0,0 +1,13 @@
+package com.financasplus.service;
+
+import com.financasplus.model.CacheInvalidation;
+
+import java.time.YearMonth;
+import java.util.Set;
+
+/**
+ * Evento publicado pelo InvalidationBus quando outra instância alterou dados mantidos em memória
+ * userId é nulo para categorias; months vazio indica todos os meses do usuário
+ */
+public record DataInvalidatedEvent(CacheInvalidation.Topic topic, Long userId, Set<YearMonth> months) {
+}
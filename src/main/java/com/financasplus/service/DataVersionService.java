@@ -0,0 +1,196 @@
+package com.financasplus.service;
+
+import com.financasplus.model.CacheInvalidation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service para versionar os dados de cada usuário (por usuário e por mês)
+ * As versões são incrementadas a cada escrita do TransactionService e formam as ETags do
+ * dashboard e dos relatórios, de modo que uma requisição condicional sem alterações
+ * responde 304 sem consultar o banco
+ * Cada mapa de versões guarda no máximo financas.versions.max-entries chaves; ao descartar as
+ * alteradas há mais tempo, a versão delas vira o piso das ausentes, então uma versão nunca diminui
+ * (no pior caso, uma ETag muda sem os dados mudarem)
+ */
+@Service
+public class DataVersionService implements TransactionChangeListener {
+
+    /**
+     * Instante da inicialização, incluído nas ETags: as versões ficam em memória e recomeçam ao reiniciar
+     */
+    private final long epoch = System.currentTimeMillis();
+
+    /**
+     * Sequência global; cada incremento recebe um valor novo, logo as versões são crescentes
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Versions<Long> userVersions = new Versions<>();
+    private final Versions<MonthKey> monthVersions = new Versions<>();
+
+    /**
+     * Versão mínima de todos os meses do usuário, para avisos de outra instância sem os meses
+     */
+    private final Versions<Long> monthFloors = new Versions<>();
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Value("${financas.versions.max-entries:100000}")
+    private int maxEntries;
+
+    /**
+     * Versão atual dos dados do usuário (0 se nada mudou desde a inicialização)
+     */
+    public long userVersion(Long userId) {
+        return userVersions.get(userId);
+    }
+
+    /**
+     * Versão atual dos dados do usuário em um mês (0 se nada mudou desde a inicialização)
+     */
+    public long monthVersion(Long userId, YearMonth month) {
+        return Math.max(monthVersions.get(new MonthKey(userId, month)), monthFloors.get(userId));
+    }
+
+    /**
+     * ETag dos dados do dashboard do usuário
+     */
+    public String dashboardEtag(SessionUser user) {
+        return etag("d", user, userVersion(user.getId()));
+    }
+
+    /**
+     * ETag do relatório do usuário em um mês
+     */
+    public String reportEtag(SessionUser user, YearMonth month) {
+        return etag("r" + month, user, monthVersion(user.getId(), month));
+    }
+
+    /**
+     * ETag de um relatório por período (pode abranger vários meses: usa a versão do usuário)
+     */
+    public String rangeReportEtag(SessionUser user, String range) {
+        return etag("g" + range, user, userVersion(user.getId()));
+    }
+
+    @Override
+    public void onTransactionChanged(TransactionSnapshot before, TransactionSnapshot after) {
+        Set<MonthKey> months = new HashSet<>();
+        addMonth(months, before);
+        addMonth(months, after);
+        bumpAfterCompletion(months);
+    }
+
+    @Override
+    public void onTransactionsCreated(List<TransactionSnapshot> created) {
+        Set<MonthKey> months = new HashSet<>();
+        for (TransactionSnapshot snapshot : created) {
+            addMonth(months, snapshot);
+        }
+        bumpAfterCompletion(months);
+    }
+
+    /**
+     * Incrementa as versões dos meses alterados em outra instância (InvalidationBus)
+     * Sem meses indicados, todos os meses do usuário passam a ter ao menos a versão nova
+     */
+    @EventListener
+    public void onDataInvalidated(DataInvalidatedEvent event) {
+        if (event.topic() != CacheInvalidation.Topic.TRANSACTIONS) {
+            return;
+        }
+        if (event.months().isEmpty()) {
+            long version = sequence.incrementAndGet();
+            monthFloors.put(event.userId(), version);
+            userVersions.put(event.userId(), version);
+            return;
+        }
+        Set<MonthKey> months = new HashSet<>();
+        for (YearMonth month : event.months()) {
+            months.add(new MonthKey(event.userId(), month));
+        }
+        bump(months);
+    }
+
+    /**
+     * Incrementa as versões ao fim da transação: se fosse antes do commit, uma leitura
+     * concorrente poderia associar os dados antigos à versão nova
+     */
+    private void bumpAfterCompletion(Set<MonthKey> months) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(months);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                bump(months);
+            }
+        });
+    }
+
+    private void bump(Set<MonthKey> months) {
+        for (MonthKey key : months) {
+            long version = sequence.incrementAndGet();
+            monthVersions.put(key, version);
+            userVersions.put(key.userId(), version);
+        }
+    }
+
+    /**
+     * ETag fraca: inicialização, escopo, usuário (e sua versão), categorias e versão dos dados
+     * Identifica a versão dos dados e não os bytes da resposta; o Tomcat só comprime (gzip) respostas sem ETag forte
+     */
+    private String etag(String scope, SessionUser user, long version) {
+        return "W/\"" + epoch + "-" + scope + "-" + user.getId() + "." + user.getVersion()
+                + "-" + categoryRegistry.generation() + "-" + version + "\"";
+    }
+
+    private static void addMonth(Set<MonthKey> months, TransactionSnapshot snapshot) {
+        if (snapshot != null) {
+            months.add(new MonthKey(snapshot.userId(), YearMonth.from(snapshot.date())));
+        }
+    }
+
+    private record MonthKey(Long userId, YearMonth month) {
+    }
+
+    /**
+     * Versões por chave, na ordem da última alteração; acima de maxEntries as mais antigas saem
+     * e a maior versão descartada passa a ser a de qualquer chave ausente
+     */
+    private final class Versions<K> {
+
+        private final LinkedHashMap<K, Long> versions = new LinkedHashMap<>();
+        private long floor;
+
+        synchronized long get(K key) {
+            Long version = versions.get(key);
+            return version != null ? version : floor;
+        }
+
+        synchronized void put(K key, long version) {
+            versions.remove(key);
+            versions.put(key, version);
+            Iterator<Long> eldest = versions.values().iterator();
+            while (versions.size() > maxEntries) {
+                floor = Math.max(floor, eldest.next());
+                eldest.remove();
+            }
+        }
+    }
+}
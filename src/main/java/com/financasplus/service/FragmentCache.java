@@ -0,0 +1,84 @@
+package com.financasplus.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Cache LRU de fragmentos de página já renderizados (HTML pronto)
+ * Cada entrada é identificada pelo usuário e pelo nome do fragmento e guarda a versão dos
+ * dados com que foi renderizada (a ETag da página): uma versão diferente é um miss e a
+ * entrada é substituída. Desativado fora do perfil prod, para não esconder mudanças nos templates
+ */
+@Component
+public class FragmentCache {
+
+    @Autowired
+    private ITemplateEngine templateEngine;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${financas.fragment-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${financas.fragment-cache.max-entries:2000}")
+    private int maxEntries;
+
+    private final Map<FragmentKey, CachedFragment> fragments = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<FragmentKey, CachedFragment> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /**
+     * Busca o fragmento renderizado para a versão informada
+     */
+    public Optional<String> get(Long userId, String name, String version) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        synchronized (fragments) {
+            CachedFragment cached = fragments.get(new FragmentKey(userId, name));
+            return cached != null && cached.version().equals(version) ? Optional.of(cached.html()) : Optional.empty();
+        }
+    }
+
+    /**
+     * Renderiza o fragmento (template :: selector) com as variáveis e o guarda para a versão informada
+     */
+    public String render(Long userId, String name, String version,
+                         String template, String selector, Map<String, Object> variables) {
+        Context context = new Context(LocaleContextHolder.getLocale(), variables);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String html = templateEngine.process(template, Set.of(selector), context);
+        sample.stop(Timer.builder("financas.fragment.render")
+                .description("Tempo de renderização dos fragmentos de página")
+                .tag("template", template)
+                .tag("fragment", selector)
+                .register(meterRegistry));
+        if (enabled) {
+            synchronized (fragments) {
+                fragments.put(new FragmentKey(userId, name), new CachedFragment(version, html));
+            }
+        }
+        return html;
+    }
+
+    private record FragmentKey(Long userId, String name) {
+    }
+
+    private record CachedFragment(String version, String html) {
+    }
+}
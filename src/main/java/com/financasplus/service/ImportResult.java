@@ -0,0 +1,34 @@
+package com.financasplus.service;
+
+import java.util.List;
+
+/**
+ * Resultado de uma importação de extrato
+ * errors guarda apenas os primeiros erros; failed conta todas as linhas descartadas
+ */
+public record ImportResult(
+        int imported,
+        int failed,
+        List<ImportError> errors,
+        long elapsedMillis) {
+
+    /**
+     * Linhas gravadas por segundo
+     */
+    public long rowsPerSecond() {
+        return elapsedMillis == 0 ? imported : imported * 1000L / elapsedMillis;
+    }
+
+    /**
+     * Indica se mais erros ocorreram além dos listados
+     */
+    public boolean hasMoreErrors() {
+        return failed > errors.size();
+    }
+
+    /**
+     * Erro de uma linha do extrato
+     */
+    public record ImportError(int row, String message) {
+    }
+}
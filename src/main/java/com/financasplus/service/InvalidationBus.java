@@ -0,0 +1,226 @@
+package com.financasplus.service;
+
+import com.financasplus.model.CacheInvalidation;
+import com.financasplus.model.CacheInvalidation.Topic;
+import com.financasplus.repository.CacheInvalidationRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Barramento de invalidação entre instâncias que compartilham o banco (perfil cluster)
+ * Cada escrita grava um aviso na tabela cache_invalidations, na mesma transação; as instâncias
+ * consultam os avisos das demais a cada financas.cluster.poll-interval e publicam um
+ * DataInvalidatedEvent, tratado por quem mantém o estado em memória
+ * A consulta relê uma janela de financas.cluster.margin (escritas confirmadas fora da ordem
+ * de criação e diferença entre relógios); os avisos já aplicados na janela são ignorados
+ * Com financas.cluster.enabled=false (instância única) nada é gravado nem consultado
+ */
+@Component
+public class InvalidationBus implements TransactionChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(InvalidationBus.class);
+
+    /**
+     * Tamanho da coluna months: acima dele o aviso vale para todos os meses do usuário
+     */
+    private static final int MAX_MONTHS_LENGTH = 1000;
+
+    @Autowired
+    private CacheInvalidationRepository repository;
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    @Value("${financas.cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${financas.cluster.node-id:}")
+    private String nodeId;
+
+    @Value("${financas.cluster.margin:PT30S}")
+    private Duration margin;
+
+    @Value("${financas.cluster.retention:PT1H}")
+    private Duration retention;
+
+    /**
+     * Início da última consulta; a próxima lê a partir dele menos a folga
+     */
+    private LocalDateTime lastPoll;
+
+    /**
+     * Avisos já aplicados que ainda estão na janela de consulta (id → criação)
+     */
+    private final Map<Long, LocalDateTime> applied = new HashMap<>();
+
+    @PostConstruct
+    public void init() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = UUID.randomUUID().toString();
+        }
+        lastPoll = LocalDateTime.now();
+        if (enabled) {
+            log.info("Invalidação entre instâncias ligada: nó {}", nodeId);
+        }
+    }
+
+    /**
+     * Avisa que as categorias foram alteradas
+     */
+    public void categoriesChanged() {
+        publish(Topic.CATEGORIES, null, null);
+    }
+
+    /**
+     * Avisa que os dados cadastrais do usuário foram alterados
+     */
+    public void userChanged(Long userId) {
+        publish(Topic.USER, userId, null);
+    }
+
+    /**
+     * Avisa que o usuário foi excluído
+     */
+    public void userDeleted(Long userId) {
+        publish(Topic.USER_DELETED, userId, null);
+    }
+
+    @Override
+    public void onTransactionChanged(TransactionSnapshot before, TransactionSnapshot after) {
+        Map<Long, Set<YearMonth>> months = new LinkedHashMap<>();
+        addMonth(months, before);
+        addMonth(months, after);
+        publishTransactions(months);
+    }
+
+    @Override
+    public void onTransactionsCreated(List<TransactionSnapshot> created) {
+        Map<Long, Set<YearMonth>> months = new LinkedHashMap<>();
+        for (TransactionSnapshot snapshot : created) {
+            addMonth(months, snapshot);
+        }
+        publishTransactions(months);
+    }
+
+    /**
+     * Lê os avisos das outras instâncias e publica os eventos, agrupados por usuário
+     */
+    @Scheduled(fixedDelayString = "${financas.cluster.poll-interval:PT1S}")
+    public synchronized void poll() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime started = LocalDateTime.now();
+        List<CacheInvalidation> rows = repository.findFromOtherNodesSince(lastPoll.minus(margin), nodeId);
+
+        boolean categories = false;
+        Set<Long> changedUsers = new LinkedHashSet<>();
+        Set<Long> deletedUsers = new LinkedHashSet<>();
+        Map<Long, Set<YearMonth>> transactions = new LinkedHashMap<>();
+        Set<Long> allMonths = new HashSet<>();
+        int received = 0;
+        for (CacheInvalidation row : rows) {
+            if (applied.putIfAbsent(row.getId(), row.getCreatedAt()) != null) {
+                continue;
+            }
+            received++;
+            switch (row.getTopic()) {
+                case CATEGORIES -> categories = true;
+                case USER -> changedUsers.add(row.getUserId());
+                case USER_DELETED -> deletedUsers.add(row.getUserId());
+                case TRANSACTIONS -> {
+                    Set<YearMonth> months = transactions.computeIfAbsent(row.getUserId(), id -> new TreeSet<>());
+                    if (row.getMonths() == null) {
+                        allMonths.add(row.getUserId());
+                    } else {
+                        for (String month : row.getMonths().split(",")) {
+                            months.add(YearMonth.parse(month));
+                        }
+                    }
+                }
+            }
+        }
+
+        if (categories) {
+            publisher.publishEvent(new DataInvalidatedEvent(Topic.CATEGORIES, null, Set.of()));
+        }
+        for (Long userId : changedUsers) {
+            publisher.publishEvent(new DataInvalidatedEvent(Topic.USER, userId, Set.of()));
+        }
+        transactions.forEach((userId, months) -> {
+            if (!deletedUsers.contains(userId)) {
+                publisher.publishEvent(new DataInvalidatedEvent(Topic.TRANSACTIONS, userId,
+                        allMonths.contains(userId) ? Set.of() : months));
+            }
+        });
+        for (Long userId : deletedUsers) {
+            publisher.publishEvent(new DataInvalidatedEvent(Topic.USER_DELETED, userId, Set.of()));
+        }
+
+        LocalDateTime windowStart = started.minus(margin);
+        applied.values().removeIf(createdAt -> createdAt.isBefore(windowStart));
+        lastPoll = started;
+        if (received > 0) {
+            log.debug("{} avisos de invalidação aplicados, {} usuários com transações alteradas",
+                    received, transactions.size());
+        }
+    }
+
+    /**
+     * Remove os avisos mais antigos que financas.cluster.retention
+     */
+    @Scheduled(fixedDelayString = "${financas.cluster.cleanup-interval:PT10M}")
+    @Transactional
+    public void cleanup() {
+        if (enabled) {
+            int removed = repository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+            log.debug("{} avisos de invalidação antigos removidos", removed);
+        }
+    }
+
+    /**
+     * Um aviso por usuário, com os meses afetados
+     */
+    private void publishTransactions(Map<Long, Set<YearMonth>> months) {
+        months.forEach((userId, userMonths) -> {
+            String csv = userMonths.stream().sorted().map(YearMonth::toString).collect(Collectors.joining(","));
+            publish(Topic.TRANSACTIONS, userId, csv.length() > MAX_MONTHS_LENGTH ? null : csv);
+        });
+    }
+
+    /**
+     * Grava o aviso na transação corrente: uma escrita desfeita por rollback não é avisada
+     */
+    private void publish(Topic topic, Long userId, String months) {
+        if (enabled) {
+            repository.save(new CacheInvalidation(nodeId, topic, userId, months));
+        }
+    }
+
+    private static void addMonth(Map<Long, Set<YearMonth>> months, TransactionSnapshot snapshot) {
+        if (snapshot != null) {
+            months.computeIfAbsent(snapshot.userId(), id -> new HashSet<>()).add(YearMonth.from(snapshot.date()));
+        }
+    }
+}
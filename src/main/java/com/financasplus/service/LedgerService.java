@@ -0,0 +1,178 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Transaction;
+import com.financasplus.model.User;
+import com.financasplus.model.UserLedger;
+import com.financasplus.repository.TransactionRepository;
+import com.financasplus.repository.UserLedgerRepository;
+import com.financasplus.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service para manter o ledger (totais consolidados) de cada usuário
+ * Os totais são atualizados na mesma transação das escritas em Transaction
+ */
+@Service
+@Transactional
+public class LedgerService implements TransactionChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerService.class);
+
+    @Autowired
+    private UserLedgerRepository ledgerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Cria o ledger zerado de um usuário novo (na mesma transação do cadastro)
+     * Assim as escritas só atualizam a linha; a reconstrução fica para usuários anteriores ao ledger
+     */
+    public void createLedger(Long userId) {
+        ledgerRepository.save(new UserLedger(userId));
+    }
+
+    /**
+     * Busca o ledger do usuário, reconstruindo-o se ainda não existir
+     */
+    public UserLedger getLedger(User user) {
+        return ledgerRepository.findById(user.getId())
+                .orElseGet(() -> rebuild(user));
+    }
+
+    /**
+     * Aplica a diferença entre o estado anterior e o novo estado da transação
+     */
+    @Override
+    public void onTransactionChanged(TransactionSnapshot before, TransactionSnapshot after) {
+        Long userId = after != null ? after.userId() : before.userId();
+        BigDecimal incomeDelta = income(after).subtract(income(before));
+        BigDecimal expensesDelta = expenses(after).subtract(expenses(before));
+        if (incomeDelta.signum() != 0 || expensesDelta.signum() != 0) {
+            applyDelta(userId, incomeDelta, expensesDelta);
+        }
+    }
+
+    /**
+     * Aplica a soma de um lote de transações criadas com uma única atualização por usuário
+     */
+    @Override
+    public void onTransactionsCreated(List<TransactionSnapshot> created) {
+        // Por usuário: [receitas, despesas] em centavos
+        Map<Long, long[]> deltas = new LinkedHashMap<>();
+        for (TransactionSnapshot snapshot : created) {
+            long[] delta = deltas.computeIfAbsent(snapshot.userId(), id -> new long[2]);
+            int index = snapshot.type() == Transaction.TransactionType.RECEITA ? 0 : 1;
+            delta[index] = Money.add(delta[index], Money.toCents(snapshot.amount()));
+        }
+        deltas.forEach((userId, delta) ->
+                applyDelta(userId, Money.fromCents(delta[0]), Money.fromCents(delta[1])));
+    }
+
+    /**
+     * Soma as variações ao ledger; se ele não existir, reconstrói a partir das transações
+     */
+    private void applyDelta(Long userId, BigDecimal incomeDelta, BigDecimal expensesDelta) {
+        int updated = ledgerRepository.applyDelta(userId, incomeDelta, expensesDelta, LocalDateTime.now());
+        if (updated == 0) {
+            rebuild(userRepository.getReferenceById(userId));
+        }
+    }
+
+    /**
+     * Recalcula o ledger do usuário a partir do TransactionRepository
+     * A gravação é um MERGE: uma leitura do dashboard e uma escrita que reconstroem o mesmo
+     * ledger ao mesmo tempo não falham na chave primária
+     */
+    public UserLedger rebuild(User user) {
+        BigDecimal income = transactionRepository.calculateTotalIncome(user);
+        BigDecimal expenses = transactionRepository.calculateTotalExpenses(user);
+
+        UserLedger ledger = new UserLedger(user.getId());
+        ledger.setTotalIncome(income);
+        ledger.setTotalExpenses(expenses);
+        ledger.setBalance(income.subtract(expenses));
+        ledgerRepository.merge(user.getId(), income, expenses, ledger.getBalance(), ledger.getUpdatedAt());
+        return ledger;
+    }
+
+    /**
+     * Confere o ledger do usuário com as somas do TransactionRepository
+     * Retorna true se os valores estiverem consistentes
+     */
+    @Transactional(readOnly = true)
+    public boolean verify(User user) {
+        BigDecimal income = transactionRepository.calculateTotalIncome(user);
+        BigDecimal expenses = transactionRepository.calculateTotalExpenses(user);
+        UserLedger ledger = ledgerRepository.findById(user.getId()).orElse(null);
+
+        boolean consistent = ledger != null
+                && ledger.getTotalIncome().compareTo(income) == 0
+                && ledger.getTotalExpenses().compareTo(expenses) == 0
+                && ledger.getBalance().compareTo(income.subtract(expenses)) == 0;
+
+        if (!consistent) {
+            log.warn("Ledger inconsistente para o usuário {}: esperado receitas={} despesas={}, encontrado {}",
+                    user.getId(), income, expenses,
+                    ledger == null ? "nenhum ledger" : "receitas=" + ledger.getTotalIncome()
+                            + " despesas=" + ledger.getTotalExpenses() + " saldo=" + ledger.getBalance());
+        }
+        return consistent;
+    }
+
+    /**
+     * Reconstrói o ledger de todos os usuários
+     */
+    public int rebuildAll() {
+        int count = 0;
+        for (User user : userRepository.findAll()) {
+            rebuild(user);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Confere o ledger de todos os usuários e retorna quantos estão inconsistentes
+     */
+    @Transactional(readOnly = true)
+    public int verifyAll() {
+        int inconsistent = 0;
+        for (User user : userRepository.findAll()) {
+            if (!verify(user)) {
+                inconsistent++;
+            }
+        }
+        return inconsistent;
+    }
+
+    /**
+     * Remove o ledger do usuário
+     */
+    public void deleteLedger(Long userId) {
+        ledgerRepository.deleteById(userId);
+    }
+
+    private static BigDecimal income(TransactionSnapshot snapshot) {
+        return snapshot != null && snapshot.type() == Transaction.TransactionType.RECEITA
+                ? snapshot.amount() : BigDecimal.ZERO;
+    }
+
+    private static BigDecimal expenses(TransactionSnapshot snapshot) {
+        return snapshot != null && snapshot.type() == Transaction.TransactionType.DESPESA
+                ? snapshot.amount() : BigDecimal.ZERO;
+    }
+}
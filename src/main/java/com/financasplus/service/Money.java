@@ -0,0 +1,75 @@
+package com.financasplus.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Aritmética de valores monetários em centavos (long)
+ * Os valores das transações são gravados com 2 casas decimais (validAmount), então cabem em um long de centavos;
+ * as agregações em memória somam longs e só convertem para BigDecimal na exibição.
+ * Estouros e valores com mais de 2 casas lançam ArithmeticException em vez de perder precisão
+ */
+public final class Money {
+
+    /**
+     * Casas decimais dos valores monetários
+     */
+    public static final int SCALE = 2;
+
+    /**
+     * Dígitos da coluna amount das transações (NUMERIC(10, 2))
+     */
+    public static final int PRECISION = 10;
+
+    private Money() {
+    }
+
+    /**
+     * Valida o valor de uma transação antes de gravá-lo e o retorna com 2 casas decimais
+     * Lança IllegalArgumentException se não for positivo, tiver mais de 2 casas ou não couber na coluna;
+     * assim o banco não arredonda o valor e toCents não falha com valores já gravados
+     */
+    public static BigDecimal validAmount(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("O valor da transação deve ser maior que zero!");
+        }
+        BigDecimal normalized;
+        try {
+            normalized = amount.setScale(SCALE, RoundingMode.UNNECESSARY);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("O valor da transação deve ter no máximo 2 casas decimais!");
+        }
+        if (normalized.precision() > PRECISION) {
+            throw new IllegalArgumentException("O valor da transação deve ser menor que 100.000.000,00!");
+        }
+        return normalized;
+    }
+
+    /**
+     * Converte um valor para centavos
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * Converte centavos para BigDecimal com 2 casas (para a exibição e o banco)
+     */
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Soma com verificação de estouro
+     */
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    /**
+     * Subtração com verificação de estouro
+     */
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+}
@@ -0,0 +1,21 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dados do relatório mensal de um usuário
+ * expensesByCategory segue a ordem das categorias e só contém valores positivos
+ */
+public record MonthlyReport(
+        YearMonth month,
+        BigDecimal income,
+        BigDecimal expenses,
+        BigDecimal balance,
+        List<Transaction> transactions,
+        Map<String, BigDecimal> expensesByCategory) {
+}
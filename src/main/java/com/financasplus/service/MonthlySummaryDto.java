@@ -0,0 +1,21 @@
+package com.financasplus.service;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Map;
+
+/**
+ * Resumo do mês na API REST (/api/v1): totais e despesas por categoria, sem a lista de transações
+ */
+public record MonthlySummaryDto(
+        YearMonth month,
+        BigDecimal income,
+        BigDecimal expenses,
+        BigDecimal balance,
+        Map<String, BigDecimal> expensesByCategory) {
+
+    public static MonthlySummaryDto of(MonthlyReport report) {
+        return new MonthlySummaryDto(report.month(), report.income(), report.expenses(), report.balance(),
+                report.expensesByCategory());
+    }
+}
@@ -0,0 +1,118 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Transaction;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Leitor de extratos OFX (versões 1.x em SGML e 2.x em XML)
+ * Cada bloco STMTTRN vira uma linha; as tags podem estar uma por linha ou na mesma linha
+ * O OFX não informa categoria e o tipo é definido pelo sinal de TRNAMT
+ */
+public class OfxStatementReader implements StatementReader {
+
+    private static final Pattern TAG = Pattern.compile("<(/?)([A-Za-z0-9.]+)>([^<]*)");
+    private static final DateTimeFormatter OFX_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final BufferedReader reader;
+    private final Deque<Object> pending = new ArrayDeque<>();
+    private Map<String, String> current;
+    private int row;
+
+    public OfxStatementReader(InputStream input) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public StatementLine next() throws IOException {
+        while (pending.isEmpty()) {
+            String line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            readTags(line);
+        }
+
+        Object next = pending.poll();
+        if (next instanceof StatementLineException e) {
+            throw e;
+        }
+        return (StatementLine) next;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Acumula as tags do lançamento atual; ao fechar um STMTTRN, converte-o em linha (ou erro)
+     */
+    private void readTags(String line) {
+        Matcher matcher = TAG.matcher(line);
+        while (matcher.find()) {
+            boolean closing = !matcher.group(1).isEmpty();
+            String tag = matcher.group(2).toUpperCase(Locale.ROOT);
+
+            if (tag.equals("STMTTRN")) {
+                if (closing && current != null) {
+                    try {
+                        pending.add(toLine(current));
+                    } catch (StatementLineException e) {
+                        pending.add(e);
+                    }
+                    current = null;
+                } else if (!closing) {
+                    row++;
+                    current = new HashMap<>();
+                }
+            } else if (current != null && !closing) {
+                current.put(tag, matcher.group(3).trim());
+            }
+        }
+    }
+
+    private StatementLine toLine(Map<String, String> tags) {
+        String dateText = tags.getOrDefault("DTPOSTED", "");
+        LocalDate date;
+        try {
+            // Formato yyyyMMdd[HHmmss[.XXX]][[gmt offset:tz name]]
+            date = LocalDate.parse(dateText.length() >= 8 ? dateText.substring(0, 8) : dateText, OFX_DATE);
+        } catch (DateTimeParseException e) {
+            throw new StatementLineException(row, "Data inválida: " + dateText);
+        }
+        date = StatementValues.date(row, date, dateText);
+
+        String amountText = tags.getOrDefault("TRNAMT", "");
+        BigDecimal amount = StatementValues.amount(row, amountText);
+
+        String description = tags.getOrDefault("MEMO", "");
+        if (description.isEmpty()) {
+            description = tags.getOrDefault("NAME", "");
+        }
+        if (description.isEmpty()) {
+            throw new StatementLineException(row, "Descrição vazia");
+        }
+
+        Transaction.TransactionType type = amount.signum() < 0 || "DEBIT".equalsIgnoreCase(tags.get("TRNTYPE"))
+                ? Transaction.TransactionType.DESPESA
+                : Transaction.TransactionType.RECEITA;
+        return new StatementLine(row, date.atStartOfDay(), StatementValues.description(description),
+                amount.abs(), type, null);
+    }
+}
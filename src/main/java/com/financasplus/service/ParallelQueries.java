@@ -0,0 +1,153 @@
+package com.financasplus.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executa consultas independentes em paralelo dentro de um escopo com prazo
+ * As tarefas rodam em um pool próprio (financas.parallel-queries.threads), menor que o pool de
+ * conexões para sobrar conexão às requisições; com a fila do pool cheia, ou threads=0, a tarefa
+ * roda na própria thread da requisição. Se uma falhar ou o prazo acabar, as demais são canceladas
+ * e o erro é propagado
+ * Os comandos SQL das tarefas contam no orçamento da requisição que as iniciou (StatementCounter)
+ */
+@Component
+public class ParallelQueries {
+
+    @Value("${financas.parallel-queries.threads:4}")
+    private int threads;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    private ExecutorService executor;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Value("${financas.parallel-queries.deadline:5s}")
+    private Duration deadline;
+
+    @PostConstruct
+    public void start() {
+        int size = Math.max(0, Math.min(threads, connectionPoolSize - 1));
+        if (size == 0) {
+            return;
+        }
+        AtomicInteger created = new AtomicInteger();
+        executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(size * 4),
+                task -> {
+                    Thread thread = new Thread(task, "parallel-queries-" + created.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Abre um escopo cujo prazo começa a contar agora
+     */
+    public Scope open() {
+        return new Scope(System.nanoTime() + deadline.toNanos());
+    }
+
+    /**
+     * Escopo de uma requisição: fork para iniciar, join para aguardar todas, close para cancelar as restantes
+     */
+    public class Scope implements AutoCloseable {
+
+        private final long deadlineNanos;
+        private final List<Future<?>> futures = new ArrayList<>();
+
+        private Scope(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Inicia a tarefa; o resultado só pode ser lido depois de join()
+         */
+        public <T> Supplier<T> fork(Supplier<T> task) {
+            Supplier<T> counted = statementCounter.propagate(task);
+            Future<T> future;
+            if (executor != null) {
+                future = executor.submit(counted::get);
+            } else {
+                FutureTask<T> inline = new FutureTask<>(counted::get);
+                inline.run();
+                future = inline;
+            }
+            futures.add(future);
+            return () -> {
+                if (!future.isDone()) {
+                    throw new IllegalStateException("Resultado lido antes de join()");
+                }
+                try {
+                    return future.get();
+                } catch (InterruptedException | ExecutionException e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        }
+
+        /**
+         * Aguarda todas as tarefas até o prazo
+         */
+        public void join() {
+            try {
+                for (Future<?> future : futures) {
+                    future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+                }
+            } catch (ExecutionException e) {
+                cancelAll();
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (TimeoutException | CancellationException e) {
+                cancelAll();
+                throw new IllegalStateException("Tempo limite excedido ao carregar os dados", e);
+            } catch (InterruptedException e) {
+                cancelAll();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Carregamento dos dados interrompido", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+        }
+
+        private void cancelAll() {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+}
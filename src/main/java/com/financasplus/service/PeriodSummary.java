@@ -0,0 +1,14 @@
+package com.financasplus.service;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Totais de um usuário em um período, calculados sobre as colunas em memória
+ * expensesByCategory segue a ordem das categorias e só contém categorias com despesas
+ */
+public record PeriodSummary(
+        BigDecimal income,
+        BigDecimal expenses,
+        Map<String, BigDecimal> expensesByCategory) {
+}
@@ -0,0 +1,32 @@
+package com.financasplus.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relatório de um intervalo [from, to] dividido em períodos (buckets)
+ * O primeiro e o último período são recortados pelo intervalo; total cobre o intervalo inteiro
+ * Os mapas por categoria seguem a ordem das categorias e só contêm valores diferentes de zero
+ */
+public record RangeReport(
+        LocalDate from,
+        LocalDate to,
+        ReportGranularity granularity,
+        Bucket total,
+        List<Bucket> buckets) {
+
+    /**
+     * Totais de um período
+     */
+    public record Bucket(
+            LocalDate start,
+            LocalDate end,
+            BigDecimal income,
+            BigDecimal expenses,
+            BigDecimal balance,
+            Map<String, BigDecimal> incomeByCategory,
+            Map<String, BigDecimal> expensesByCategory) {
+    }
+}
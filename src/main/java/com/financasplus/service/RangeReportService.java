@@ -0,0 +1,161 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Category;
+import com.financasplus.model.Transaction;
+import com.financasplus.model.User;
+import com.financasplus.repository.CategoryTotal;
+import com.financasplus.repository.TransactionRepository;
+import com.financasplus.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Service para relatórios de qualquer intervalo de datas, por dia, semana, mês, trimestre ou ano
+ * Os totais vêm das somas acumuladas por dia (DailyTotals) das colunas em memória: cada período
+ * custa duas leituras por categoria e tipo, sem consultar o banco
+ * Não abre transação: as colunas são carregadas em uma transação própria do TransactionColumnStore
+ */
+@Service
+public class RangeReportService {
+
+    private static final Logger log = LoggerFactory.getLogger(RangeReportService.class);
+
+    /**
+     * Quantidade máxima de períodos em um relatório (10 anos por dia)
+     */
+    public static final int MAX_BUCKETS = 3660;
+
+    @Autowired
+    private TransactionColumnStore columnStore;
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Monta o relatório do intervalo [from, to] com a granularidade informada
+     * Lança IllegalArgumentException se as datas estiverem invertidas ou fora do intervalo aceito (TransactionDates)
+     */
+    public RangeReport buildReport(Long userId, LocalDate from, LocalDate to, ReportGranularity granularity) {
+        if (!TransactionDates.isSupported(from) || !TransactionDates.isSupported(to)) {
+            throw new IllegalArgumentException("As datas devem estar entre 01/01/1900 e 31/12/2099!");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("A data inicial deve ser anterior ou igual à data final!");
+        }
+
+        List<LocalDate> starts = new ArrayList<>();
+        for (LocalDate start = from; !start.isAfter(to); start = granularity.nextPeriod(granularity.periodStart(start))) {
+            if (starts.size() == MAX_BUCKETS) {
+                throw new IllegalArgumentException("O intervalo tem mais de " + MAX_BUCKETS + " períodos!");
+            }
+            starts.add(start);
+        }
+
+        DailyTotals totals = columnStore.dailyTotals(userId);
+        List<Category> categories = categoryRegistry.findAll();
+        List<RangeReport.Bucket> buckets = new ArrayList<>(starts.size());
+        for (int i = 0; i < starts.size(); i++) {
+            LocalDate end = i + 1 < starts.size() ? starts.get(i + 1).minusDays(1) : to;
+            buckets.add(bucket(totals, categories, starts.get(i), end));
+        }
+        return new RangeReport(from, to, granularity, bucket(totals, categories, from, to), buckets);
+    }
+
+    /**
+     * Confere os totais por categoria e tipo de intervalos sorteados com a soma feita pelo banco
+     * Retorna true se todos os intervalos estiverem consistentes
+     */
+    public boolean verify(User user, int samples) {
+        TransactionColumns columns = columnStore.columns(user.getId());
+        DailyTotals totals = columnStore.dailyTotals(user.getId());
+        List<Category> categories = categoryRegistry.findAll();
+        Random random = new Random(user.getId());
+
+        // Intervalos sorteados em torno do histórico do usuário (incluindo as bordas)
+        long firstDay = columns.size() > 0 ? columns.day(0) - 30 : LocalDate.now().toEpochDay() - 365;
+        long lastDay = columns.size() > 0 ? columns.day(columns.size() - 1) + 30 : LocalDate.now().toEpochDay();
+
+        boolean consistent = true;
+        for (int sample = 0; sample < samples; sample++) {
+            LocalDate from = LocalDate.ofEpochDay(firstDay + random.nextInt((int) (lastDay - firstDay + 1)));
+            LocalDate to = from.plusDays(random.nextInt(400));
+            int fromDay = Math.toIntExact(from.toEpochDay());
+            int toDay = Math.toIntExact(to.toEpochDay());
+
+            Map<String, Long> expected = new LinkedHashMap<>();
+            for (CategoryTotal total : transactionRepository.sumByCategory(
+                    user, from.atStartOfDay(), to.plusDays(1).atStartOfDay().minusNanos(1))) {
+                expected.put(total.categoryId() + ":" + total.type(), Money.toCents(total.total()));
+            }
+            for (Category category : categories) {
+                int id = category.getId().intValue();
+                for (Transaction.TransactionType type : Transaction.TransactionType.values()) {
+                    long actual = totals.sum(id, type == Transaction.TransactionType.RECEITA, fromDay, toDay);
+                    long wanted = expected.getOrDefault(category.getId() + ":" + type, 0L);
+                    if (actual != wanted) {
+                        consistent = false;
+                        log.warn("Relatório por período inconsistente para o usuário {} em [{}, {}], {} {}: esperado {}, calculado {}",
+                                user.getId(), from, to, category.getName(), type, wanted, actual);
+                    }
+                }
+            }
+        }
+        return consistent;
+    }
+
+    /**
+     * Confere os relatórios por período de todos os usuários e retorna quantos estão inconsistentes
+     */
+    public int verifyAll(int samples) {
+        int inconsistent = 0;
+        for (User user : userRepository.findAll()) {
+            if (!verify(user, samples)) {
+                inconsistent++;
+            }
+        }
+        return inconsistent;
+    }
+
+    private static RangeReport.Bucket bucket(DailyTotals totals, List<Category> categories,
+                                             LocalDate start, LocalDate end) {
+        int fromDay = Math.toIntExact(start.toEpochDay());
+        int toDay = Math.toIntExact(end.toEpochDay());
+        long incomeCents = 0;
+        long expensesCents = 0;
+        Map<String, BigDecimal> incomeByCategory = new LinkedHashMap<>();
+        Map<String, BigDecimal> expensesByCategory = new LinkedHashMap<>();
+
+        for (Category category : categories) {
+            int id = category.getId().intValue();
+            long income = totals.sum(id, true, fromDay, toDay);
+            long expenses = totals.sum(id, false, fromDay, toDay);
+            incomeCents = Money.add(incomeCents, income);
+            expensesCents = Money.add(expensesCents, expenses);
+            if (income != 0) {
+                incomeByCategory.put(category.getName(), Money.fromCents(income));
+            }
+            if (expenses != 0) {
+                expensesByCategory.put(category.getName(), Money.fromCents(expenses));
+            }
+        }
+
+        return new RangeReport.Bucket(start, end, Money.fromCents(incomeCents), Money.fromCents(expensesCents),
+                Money.fromCents(Money.subtract(incomeCents, expensesCents)), incomeByCategory, expensesByCategory);
+    }
+}
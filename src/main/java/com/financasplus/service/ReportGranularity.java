@@ -0,0 +1,43 @@
+package com.financasplus.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Granularidade dos períodos de um relatório por intervalo
+ * Semanas começam na segunda-feira; trimestres em janeiro, abril, julho e outubro
+ */
+public enum ReportGranularity {
+    DAILY,
+    WEEKLY,
+    MONTHLY,
+    QUARTERLY,
+    YEARLY;
+
+    /**
+     * Início do período que contém a data
+     */
+    public LocalDate periodStart(LocalDate date) {
+        return switch (this) {
+            case DAILY -> date;
+            case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY -> date.withDayOfMonth(1);
+            case QUARTERLY -> LocalDate.of(date.getYear(), (date.getMonthValue() - 1) / 3 * 3 + 1, 1);
+            case YEARLY -> date.withDayOfYear(1);
+        };
+    }
+
+    /**
+     * Início do período seguinte
+     */
+    public LocalDate nextPeriod(LocalDate periodStart) {
+        return switch (this) {
+            case DAILY -> periodStart.plusDays(1);
+            case WEEKLY -> periodStart.plusWeeks(1);
+            case MONTHLY -> periodStart.plusMonths(1);
+            case QUARTERLY -> periodStart.plusMonths(3);
+            case YEARLY -> periodStart.plusYears(1);
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Transaction;
+import com.financasplus.model.User;
+import com.financasplus.repository.CategoryTotal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Service para montar os relatórios financeiros
+ * Os totais vêm das colunas em memória (TransactionColumnStore) ou, se desligadas, dos totais
+ * mensais (MonthlyRollup); apenas as transações do mês são lidas como entidades
+ * As duas leituras rodam em paralelo, cada uma na sua transação
+ */
+@Service
+@Transactional(readOnly = true)
+public class ReportService {
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionColumnStore columnStore;
+
+    @Autowired
+    private ParallelQueries parallelQueries;
+
+    /**
+     * Monta o relatório de um mês
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public MonthlyReport buildMonthlyReport(User user, YearMonth month) {
+        return buildMonthlyReport(user, month, true);
+    }
+
+    /**
+     * Monta o relatório de um mês; sem withTransactions apenas os totais são lidos
+     * (a lista de transações vem vazia, para quando ela já está renderizada em cache)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public MonthlyReport buildMonthlyReport(User user, YearMonth month, boolean withTransactions) {
+        LocalDateTime startDate = month.atDay(1).atStartOfDay();
+        LocalDateTime endDate = month.atEndOfMonth().atTime(23, 59, 59);
+
+        PeriodSummary summary;
+        List<Transaction> transactions;
+        try (ParallelQueries.Scope scope = parallelQueries.open()) {
+            Supplier<PeriodSummary> summaryTask = columnStore.isEnabled()
+                    ? scope.fork(() -> columnStore.summarize(user.getId(), month.atDay(1), month.atEndOfMonth()))
+                    : scope.fork(() -> summarizeRollups(user, month));
+            Supplier<List<Transaction>> transactionsTask = withTransactions
+                    ? scope.fork(() -> transactionService.findByUserAndDateRange(user, startDate, endDate))
+                    : List::of;
+            scope.join();
+            summary = summaryTask.get();
+            transactions = transactionsTask.get();
+        }
+
+        return new MonthlyReport(month, summary.income(), summary.expenses(),
+                summary.income().subtract(summary.expenses()), transactions, summary.expensesByCategory());
+    }
+
+    /**
+     * Totais do mês a partir dos totais mensais (quando as colunas em memória estão desligadas)
+     */
+    private PeriodSummary summarizeRollups(User user, YearMonth month) {
+        // Soma em centavos; só os valores exibidos viram BigDecimal
+        long incomeCents = 0;
+        long expensesCents = 0;
+        Map<String, BigDecimal> expensesByCategory = new LinkedHashMap<>();
+
+        // Os totais vêm ordenados por categoria
+        for (CategoryTotal total : rollupService.findCategoryTotals(user, month)) {
+            long cents = Money.toCents(total.total());
+            if (total.type() == Transaction.TransactionType.RECEITA) {
+                incomeCents = Money.add(incomeCents, cents);
+            } else {
+                expensesCents = Money.add(expensesCents, cents);
+                if (cents > 0) {
+                    expensesByCategory.put(total.categoryName(), total.total());
+                }
+            }
+        }
+        return new PeriodSummary(Money.fromCents(incomeCents), Money.fromCents(expensesCents), expensesByCategory);
+    }
+}
@@ -0,0 +1,213 @@
+package com.financasplus.service;
+
+import com.financasplus.model.MonthlyRollup;
+import com.financasplus.model.Transaction;
+import com.financasplus.model.User;
+import com.financasplus.repository.CategoryTotal;
+import com.financasplus.repository.MonthlyRollupRepository;
+import com.financasplus.repository.TransactionRepository;
+import com.financasplus.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service para manter os totais mensais (usuário × mês × categoria × tipo)
+ * Os totais são atualizados na mesma transação das escritas em Transaction
+ */
+@Service
+@Transactional
+public class RollupService implements TransactionChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RollupService.class);
+
+    @Autowired
+    private MonthlyRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Busca os totais de um usuário em um mês por categoria e tipo, ordenados por categoria
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryTotal> findCategoryTotals(User user, YearMonth month) {
+        return rollupRepository.findCategoryTotals(user.getId(), month);
+    }
+
+    /**
+     * Move o valor da transação da chave anterior para a nova chave
+     * (edições podem trocar o mês, a categoria ou o tipo)
+     */
+    @Override
+    public void onTransactionChanged(TransactionSnapshot before, TransactionSnapshot after) {
+        if (before != null && after != null && keyOf(before).equals(keyOf(after))) {
+            // Mesma chave: só a diferença de valor (uma reconstrução aqui já inclui a edição)
+            BigDecimal delta = after.amount().subtract(before.amount());
+            if (delta.signum() != 0) {
+                applyDelta(after.userId(), keyOf(after), delta, 0);
+            }
+            return;
+        }
+
+        // A reconstrução lê as transações já com esta escrita: depois dela não há o que somar
+        if (before != null && applyDelta(before.userId(), keyOf(before), before.amount().negate(), -1)) {
+            return;
+        }
+        if (after != null) {
+            applyDelta(after.userId(), keyOf(after), after.amount(), 1);
+        }
+    }
+
+    /**
+     * Agrupa um lote de transações criadas por chave, com uma única atualização por linha
+     */
+    @Override
+    public void onTransactionsCreated(List<TransactionSnapshot> created) {
+        // Cada par (usuário, chave) recebe uma posição no acumulador, na ordem em que aparece
+        Map<RollupSlot, Integer> slots = new LinkedHashMap<>();
+        CentsAccumulator totals = new CentsAccumulator(16);
+        for (TransactionSnapshot snapshot : created) {
+            Integer slot = slots.computeIfAbsent(new RollupSlot(snapshot.userId(), keyOf(snapshot)),
+                    k -> slots.size());
+            totals.add(slot, Money.toCents(snapshot.amount()));
+        }
+        slots.forEach((slot, index) -> applyDelta(slot.userId(), slot.key(),
+                Money.fromCents(totals.sum(index)), totals.count(index)));
+    }
+
+    /**
+     * Soma as variações à linha da chave, criando-a zerada se necessário
+     * Retorna true se, em vez disso, os totais do usuário foram reconstruídos
+     */
+    private boolean applyDelta(Long userId, RollupKey key, BigDecimal amount, long count) {
+        if (update(userId, key, amount, count) > 0) {
+            return false;
+        }
+
+        if (count > 0) {
+            // Escritas concorrentes na mesma chave nova: o MERGE serializa a criação e ambas somam
+            rollupRepository.ensureRow(userId, key.month().toString(), key.categoryId(), key.type().name());
+            update(userId, key, amount, count);
+            return false;
+        }
+        // Remoção ou alteração sobre uma linha inexistente: os totais estão incompletos
+        rebuild(userRepository.getReferenceById(userId));
+        return true;
+    }
+
+    private int update(Long userId, RollupKey key, BigDecimal amount, long count) {
+        return rollupRepository.applyDelta(userId, key.month(), key.categoryId(), key.type(), amount, count);
+    }
+
+    /**
+     * Recalcula todos os totais mensais do usuário a partir das transações
+     */
+    public int rebuild(User user) {
+        rollupRepository.deleteByUserId(user.getId());
+        Map<RollupKey, MonthlyRollup> expected = summarize(user);
+        rollupRepository.saveAll(expected.values());
+        return expected.size();
+    }
+
+    /**
+     * Confere os totais mensais do usuário com as transações
+     * Retorna true se os valores estiverem consistentes
+     */
+    @Transactional(readOnly = true)
+    public boolean verify(User user) {
+        Map<RollupKey, MonthlyRollup> expected = summarize(user);
+        Map<RollupKey, MonthlyRollup> stored = new HashMap<>();
+        for (MonthlyRollup rollup : rollupRepository.findByUserId(user.getId())) {
+            if (rollup.getTransactionCount() != 0 || rollup.getTotal().signum() != 0) {
+                stored.put(new RollupKey(rollup.getMonth(), rollup.getCategoryId(), rollup.getType()), rollup);
+            }
+        }
+
+        boolean consistent = expected.size() == stored.size();
+        for (Map.Entry<RollupKey, MonthlyRollup> entry : expected.entrySet()) {
+            MonthlyRollup actual = stored.get(entry.getKey());
+            if (actual == null
+                    || actual.getTotal().compareTo(entry.getValue().getTotal()) != 0
+                    || actual.getTransactionCount() != entry.getValue().getTransactionCount()) {
+                consistent = false;
+                log.warn("Total mensal inconsistente para o usuário {} em {}", user.getId(), entry.getKey());
+            }
+        }
+        return consistent;
+    }
+
+    /**
+     * Reconstrói os totais mensais de todos os usuários
+     */
+    public int rebuildAll() {
+        int count = 0;
+        for (User user : userRepository.findAll()) {
+            rebuild(user);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Confere os totais mensais de todos os usuários e retorna quantos estão inconsistentes
+     */
+    @Transactional(readOnly = true)
+    public int verifyAll() {
+        int inconsistent = 0;
+        for (User user : userRepository.findAll()) {
+            if (!verify(user)) {
+                inconsistent++;
+            }
+        }
+        return inconsistent;
+    }
+
+    /**
+     * Remove os totais mensais do usuário
+     */
+    public void deleteRollups(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+    }
+
+    private Map<RollupKey, MonthlyRollup> summarize(User user) {
+        Map<RollupKey, MonthlyRollup> result = new HashMap<>();
+        for (Object[] row : transactionRepository.summarizeByMonth(user)) {
+            YearMonth month = YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+            Long categoryId = (Long) row[2];
+            Transaction.TransactionType type = (Transaction.TransactionType) row[3];
+            MonthlyRollup rollup = new MonthlyRollup(user.getId(), month, categoryId, type,
+                    (BigDecimal) row[4], ((Number) row[5]).longValue());
+            result.put(new RollupKey(month, categoryId, type), rollup);
+        }
+        return result;
+    }
+
+    private static RollupKey keyOf(TransactionSnapshot snapshot) {
+        return new RollupKey(YearMonth.from(snapshot.date()), snapshot.categoryId(), snapshot.type());
+    }
+
+    /**
+     * Chave de uma linha de total mensal (o usuário é sempre o mesmo dentro de uma operação)
+     */
+    private record RollupKey(YearMonth month, Long categoryId, Transaction.TransactionType type) {
+    }
+
+    /**
+     * Linha de total mensal de um usuário (usado nos lotes, que podem ter vários usuários)
+     */
+    private record RollupSlot(Long userId, RollupKey key) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.financasplus.service;
+
+import com.financasplus.model.User;
+
+import java.io.Serializable;
+
+/**
+ * Usuário autenticado guardado na sessão HTTP
+ * Cópia imutável e pequena dos dados de exibição (sem a entidade nem suas transações);
+ * a versão permite detectar quando o usuário foi alterado depois do login
+ */
+public final class SessionUser implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String username;
+    private final String fullName;
+    private final Long version;
+
+    public SessionUser(Long id, String username, String fullName, Long version) {
+        this.id = id;
+        this.username = username;
+        this.fullName = fullName;
+        this.version = version;
+    }
+
+    /**
+     * Cria o principal a partir da entidade
+     */
+    public static SessionUser of(User user) {
+        return new SessionUser(user.getId(), user.getUsername(), user.getFullName(), user.getVersion());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,71 @@
+package com.financasplus.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Leitura do conteúdo de um snapshot a partir do arquivo mapeado em memória
+ * Os vetores são copiados em bloco; tamanhos impossíveis indicam um arquivo corrompido
+ */
+final class SnapshotInput {
+
+    private final ByteBuffer buffer;
+
+    SnapshotInput(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    int readInt() {
+        return buffer.getInt();
+    }
+
+    long readLong() {
+        return buffer.getLong();
+    }
+
+    /**
+     * Quantidade de elementos de tamanho elementBytes que vem a seguir
+     */
+    int readCount(int elementBytes) {
+        int count = buffer.getInt();
+        if (count < 0 || (long) count * elementBytes > buffer.remaining()) {
+            throw new IllegalStateException("Snapshot corrompido: quantidade inválida " + count);
+        }
+        return count;
+    }
+
+    int[] readInts(int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        skip(count, Integer.BYTES);
+        return values;
+    }
+
+    long[] readLongs(int count) {
+        long[] values = new long[count];
+        buffer.asLongBuffer().get(values);
+        skip(count, Long.BYTES);
+        return values;
+    }
+
+    short[] readShorts(int count) {
+        short[] values = new short[count];
+        buffer.asShortBuffer().get(values);
+        skip(count, Short.BYTES);
+        return values;
+    }
+
+    String readString() {
+        byte[] bytes = new byte[readCount(1)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+
+    private void skip(int count, int elementBytes) {
+        buffer.position(buffer.position() + count * elementBytes);
+    }
+}
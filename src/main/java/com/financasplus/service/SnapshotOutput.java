@@ -0,0 +1,96 @@
+package com.financasplus.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Escrita binária do conteúdo de um snapshot (big-endian, vetores sem separadores)
+ * Calcula o CRC32 e o tamanho do que foi escrito, gravados depois no cabeçalho pelo SnapshotService
+ */
+final class SnapshotOutput {
+
+    private final OutputStream out;
+    private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private final CRC32 crc = new CRC32();
+    private long length;
+
+    SnapshotOutput(OutputStream out) {
+        this.out = out;
+    }
+
+    void writeInt(int value) {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    void writeLong(long value) {
+        ensure(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    void writeInts(int[] values, int count) {
+        for (int i = 0; i < count; i++) {
+            writeInt(values[i]);
+        }
+    }
+
+    void writeLongs(long[] values, int count) {
+        for (int i = 0; i < count; i++) {
+            writeLong(values[i]);
+        }
+    }
+
+    void writeShorts(short[] values, int count) {
+        for (int i = 0; i < count; i++) {
+            ensure(Short.BYTES);
+            buffer.putShort(values[i]);
+        }
+    }
+
+    /**
+     * Texto em UTF-8 precedido do tamanho em bytes
+     */
+    void writeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        for (byte b : bytes) {
+            ensure(1);
+            buffer.put(b);
+        }
+    }
+
+    /**
+     * Envia o que está no buffer para o arquivo
+     */
+    void flush() {
+        if (buffer.position() == 0) {
+            return;
+        }
+        crc.update(buffer.array(), 0, buffer.position());
+        length += buffer.position();
+        try {
+            out.write(buffer.array(), 0, buffer.position());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    long length() {
+        return length;
+    }
+
+    long checksum() {
+        return crc.getValue();
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.financasplus.service;
+
+import com.financasplus.repository.TransactionRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshots binários das estruturas derivadas em memória (colunas das transações e índice de busca)
+ * para reiniciar com o cache quente quando o banco é persistente (perfil file)
+ * O arquivo tem um cabeçalho com identificador, versão do formato, instante do snapshot, tamanho e
+ * CRC32 do conteúdo; é gravado periodicamente e ao desligar, sempre em um arquivo temporário
+ * movido por cima do anterior. Na inicialização o arquivo é mapeado em memória e, depois de restaurado,
+ * só os usuários com transações alteradas desde o snapshot (updated_at) ou com quantidade diferente
+ * (exclusões) são lidos do banco
+ */
+@Component
+public class SnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotService.class);
+
+    private static final int MAGIC = 0x46505331; // "FPS1"
+
+    /**
+     * Versão do formato; snapshots de outra versão são ignorados (inicialização a frio)
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Identificador, versão, instante (segundos e nanos), tamanho e CRC32 do conteúdo
+     */
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 8 + 8;
+
+    @Autowired
+    private TransactionColumnStore columnStore;
+
+    @Autowired
+    private TransactionSearchIndex searchIndex;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Value("${financas.snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${financas.snapshot.path:./data/cache.snapshot}")
+    private Path path;
+
+    /**
+     * Folga no instante do snapshot: uma escrita pode ter preenchido updated_at antes dele
+     * e só ter sido confirmada depois
+     */
+    @Value("${financas.snapshot.catch-up-margin:5m}")
+    private Duration catchUpMargin;
+
+    /**
+     * Restaura o snapshot antes da reconstrução do índice de busca, que passa a ser dispensada
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void restoreOnStartup() {
+        if (!enabled || !Files.exists(path)) {
+            return;
+        }
+        try {
+            restore();
+        } catch (RuntimeException | IOException e) {
+            log.warn("Snapshot {} ignorado, as estruturas em memória serão montadas a partir do banco: {}",
+                    path, e.getMessage());
+        }
+    }
+
+    /**
+     * Grava um snapshot periodicamente (financas.snapshot.interval)
+     */
+    @Scheduled(fixedDelayString = "${financas.snapshot.interval:PT10M}",
+               initialDelayString = "${financas.snapshot.interval:PT10M}")
+    public void writePeriodically() {
+        if (enabled) {
+            writeSafely();
+        }
+    }
+
+    /**
+     * Grava um último snapshot ao desligar a aplicação
+     */
+    @PreDestroy
+    public void writeOnShutdown() {
+        if (enabled) {
+            writeSafely();
+        }
+    }
+
+    /**
+     * Grava o snapshot das estruturas atuais e retorna o tamanho do arquivo em bytes
+     * O instante registrado é lido antes das estruturas: o que for alterado depois dele é atualizado na restauração
+     */
+    public long write() throws IOException {
+        LocalDateTime takenAt = LocalDateTime.now();
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_SIZE);
+            OutputStream stream = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+            SnapshotOutput out = new SnapshotOutput(stream);
+            columnStore.writeSnapshot(out);
+            searchIndex.writeSnapshot(out);
+            out.flush();
+            stream.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(takenAt.toEpochSecond(ZoneOffset.UTC))
+                    .putInt(takenAt.getNano())
+                    .putLong(out.length())
+                    .putLong(out.checksum())
+                    .flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return Files.size(path);
+    }
+
+    /**
+     * Mapeia o snapshot em memória, confere cabeçalho e CRC e restaura as estruturas
+     * Lança IllegalStateException se o arquivo for de outra versão ou estiver corrompido
+     */
+    public void restore() throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IllegalStateException("arquivo menor que o cabeçalho");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.getInt() != MAGIC) {
+                throw new IllegalStateException("não é um snapshot");
+            }
+            int version = mapped.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("versão do formato " + version + ", esperada " + FORMAT_VERSION);
+            }
+            LocalDateTime takenAt = LocalDateTime.ofEpochSecond(mapped.getLong(), mapped.getInt(), ZoneOffset.UTC);
+            long length = mapped.getLong();
+            long checksum = mapped.getLong();
+            if (length != channel.size() - HEADER_SIZE) {
+                throw new IllegalStateException("tamanho do conteúdo não confere");
+            }
+
+            ByteBuffer content = mapped.slice();
+            CRC32 crc = new CRC32();
+            crc.update(content.duplicate());
+            if (crc.getValue() != checksum) {
+                throw new IllegalStateException("CRC32 não confere");
+            }
+
+            SnapshotInput in = new SnapshotInput(content);
+            Map<Long, TransactionColumns> columns = TransactionColumnStore.readSnapshot(in);
+
+            // As marcas e o início da restauração do índice vêm antes das consultas ao banco:
+            // escritas confirmadas depois delas ficam de fora das colunas e são reaplicadas no índice
+            long[] marks = columnStore.writeMarks();
+            Set<Long> stale = new HashSet<>();
+            int restoredIndex = searchIndex.restore(in, documents -> {
+                stale.addAll(staleUsers(takenAt, columns, documents));
+                return stale;
+            });
+            if (in.hasRemaining()) {
+                throw new IllegalStateException("conteúdo além do esperado");
+            }
+            columns.keySet().removeAll(stale);
+            int restoredColumns = columnStore.restore(columns, marks);
+
+            log.info("Snapshot de {} restaurado em {} ms: colunas de {} usuários, índice de busca de {} usuários, {} usuários atualizados pelo banco",
+                    takenAt, (System.nanoTime() - start) / 1_000_000, restoredColumns, restoredIndex, stale.size());
+        }
+    }
+
+    /**
+     * Usuários cujas estruturas no snapshot podem estar desatualizadas: com transações criadas ou
+     * alteradas depois do snapshot (menos a folga) ou com quantidade de transações diferente da do banco
+     */
+    private Set<Long> staleUsers(LocalDateTime takenAt, Map<Long, TransactionColumns> columns,
+                                 Map<Long, Integer> documents) {
+        Set<Long> stale = new HashSet<>(transactionRepository.findUserIdsUpdatedSince(takenAt.minus(catchUpMargin)));
+
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : transactionRepository.countByUser()) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        columns.forEach((userId, userColumns) -> {
+            if (counts.getOrDefault(userId, 0L) != userColumns.size()) {
+                stale.add(userId);
+            }
+        });
+        Set<Long> indexed = new HashSet<>(documents.keySet());
+        indexed.addAll(counts.keySet());
+        for (Long userId : indexed) {
+            if (counts.getOrDefault(userId, 0L) != documents.getOrDefault(userId, 0).longValue()) {
+                stale.add(userId);
+            }
+        }
+        return stale;
+    }
+
+    private void writeSafely() {
+        if (!searchIndex.isReady()) {
+            log.debug("Snapshot adiado: o índice de busca ainda não foi montado");
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            long bytes = write();
+            log.info("Snapshot gravado em {}: {} KB em {} ms", path, bytes / 1024, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Falha ao gravar o snapshot {}: {}", path, e.getMessage());
+        }
+    }
+}
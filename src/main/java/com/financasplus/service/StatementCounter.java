@@ -0,0 +1,89 @@
+package com.financasplus.service;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate dentro de um escopo (uma requisição HTTP)
+ * Registrado como StatementInspector do Hibernate; fora de um escopo (tarefas em segundo plano)
+ * nada é contado. O escopo pertence à thread que o abriu e é repassado por propagate() às tarefas
+ * que ela inicia em outras threads (ParallelQueries)
+ */
+@Component
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<AtomicInteger> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger count = CURRENT.get();
+        if (count != null) {
+            count.incrementAndGet();
+        }
+        return sql;
+    }
+
+    /**
+     * Abre um escopo de contagem na thread atual
+     */
+    public Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope.count);
+        return scope;
+    }
+
+    /**
+     * Envolve a tarefa para que os comandos dela sejam contados no escopo da thread atual
+     */
+    public <T> Supplier<T> propagate(Supplier<T> task) {
+        AtomicInteger count = CURRENT.get();
+        if (count == null) {
+            return task;
+        }
+        return () -> {
+            AtomicInteger previous = CURRENT.get();
+            CURRENT.set(count);
+            try {
+                return task.get();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void restore(AtomicInteger previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Escopo de contagem; close() volta ao escopo anterior da thread
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicInteger previous;
+
+        private Scope(AtomicInteger previous) {
+            this.previous = previous;
+        }
+
+        /**
+         * Comandos contados até agora, inclusive os das tarefas iniciadas em outras threads
+         */
+        public int count() {
+            return count.get();
+        }
+
+        @Override
+        public void close() {
+            restore(previous);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Category;
+import com.financasplus.model.Transaction;
+import com.financasplus.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service para importar extratos bancários (CSV/OFX)
+ * O arquivo é lido de forma incremental e gravado em lotes, cada lote na sua própria
+ * transação; linhas inválidas são registradas como erro sem interromper a importação
+ */
+@Service
+public class StatementImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementImportService.class);
+
+    /**
+     * Quantidade máxima de erros detalhados no resultado
+     */
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    /**
+     * Categoria usada quando o extrato não informa uma
+     */
+    private static final String DEFAULT_CATEGORY = "Outros";
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Value("${financas.import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Importa o extrato para o usuário; o formato é definido pela extensão do arquivo
+     */
+    public ImportResult importStatement(User user, String filename, InputStream input) throws IOException {
+        long start = System.nanoTime();
+        Map<String, Category> categories = categoriesByName();
+        List<Transaction> batch = new ArrayList<>(batchSize);
+        List<Integer> batchRows = new ArrayList<>(batchSize);
+        ImportProgress progress = new ImportProgress();
+
+        try (StatementReader reader = StatementReader.open(filename, input)) {
+            while (true) {
+                StatementLine line;
+                try {
+                    line = reader.next();
+                } catch (StatementLineException e) {
+                    progress.fail(e.getRow(), e.getMessage());
+                    continue;
+                }
+                if (line == null) {
+                    break;
+                }
+
+                String categoryName = line.category() == null ? DEFAULT_CATEGORY : line.category();
+                Category category = categories.get(StatementValues.normalize(categoryName));
+                if (category == null) {
+                    progress.fail(line.row(), "Categoria não encontrada: " + categoryName);
+                    continue;
+                }
+
+                batch.add(new Transaction(user, category, line.type(), line.description(), line.amount(), line.date()));
+                batchRows.add(line.row());
+                if (batch.size() == batchSize) {
+                    writeBatch(batch, batchRows, progress);
+                }
+            }
+        }
+        writeBatch(batch, batchRows, progress);
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        ImportResult result = new ImportResult(progress.imported, progress.failed, progress.errors, elapsedMillis);
+        log.info("Extrato {} importado para o usuário {}: {} linhas gravadas, {} com erro, {} linhas/s",
+                filename, user.getId(), result.imported(), result.failed(), result.rowsPerSecond());
+        return result;
+    }
+
+    /**
+     * Grava o lote; se o banco rejeitar, cada linha é gravada sozinha para que só as problemáticas
+     * fiquem com erro
+     */
+    private void writeBatch(List<Transaction> batch, List<Integer> batchRows, ImportProgress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            progress.imported += transactionService.createTransactions(batch);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar lote de {} linhas, gravando uma a uma: {}", batch.size(), e.getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    progress.imported += transactionService.createTransactions(List.of(copyOf(batch.get(i))));
+                } catch (RuntimeException single) {
+                    progress.fail(batchRows.get(i), "Linha não gravada: " + single.getMessage());
+                }
+            }
+        }
+        batch.clear();
+        batchRows.clear();
+    }
+
+    /**
+     * Nova entidade com os mesmos dados: a do lote desfeito pode ter ficado com id atribuído
+     */
+    private static Transaction copyOf(Transaction transaction) {
+        return new Transaction(transaction.getUser(), transaction.getCategory(), transaction.getType(),
+                transaction.getDescription(), transaction.getAmount(), transaction.getDate());
+    }
+
+    /**
+     * Mapa nome normalizado → categoria, montado uma vez por importação a partir do registro em memória
+     */
+    private Map<String, Category> categoriesByName() {
+        Map<String, Category> categories = new HashMap<>();
+        for (Category category : categoryRegistry.findAll()) {
+            categories.put(StatementValues.normalize(category.getName()), category);
+        }
+        return categories;
+    }
+
+    /**
+     * Contadores da importação em andamento
+     */
+    private static class ImportProgress {
+        private int imported;
+        private int failed;
+        private final List<ImportResult.ImportError> errors = new ArrayList<>();
+
+        private void fail(int row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportResult.ImportError(row, message));
+            }
+        }
+    }
+}
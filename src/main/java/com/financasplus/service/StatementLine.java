@@ -0,0 +1,21 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha de um extrato bancário já interpretada
+ * row é o número da linha (CSV) ou do lançamento (OFX) no arquivo original;
+ * amount é sempre positivo e o sinal original define o tipo
+ * category é null quando o extrato não informa a categoria
+ */
+public record StatementLine(
+        int row,
+        LocalDateTime date,
+        String description,
+        BigDecimal amount,
+        Transaction.TransactionType type,
+        String category) {
+}
@@ -0,0 +1,19 @@
+package com.financasplus.service;
+
+/**
+ * Erro de interpretação de uma linha do extrato
+ * A leitura continua na linha seguinte; apenas a linha com erro é descartada
+ */
+public class StatementLineException extends IllegalArgumentException {
+
+    private final int row;
+
+    public StatementLineException(int row, String message) {
+        super(message);
+        this.row = row;
+    }
+
+    public int getRow() {
+        return row;
+    }
+}
@@ -0,0 +1,33 @@
+package com.financasplus.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+/**
+ * Leitor incremental de extratos bancários
+ * Lê uma linha por vez, sem carregar o arquivo inteiro em memória
+ */
+public interface StatementReader extends Closeable {
+
+    /**
+     * Lê a próxima linha do extrato; retorna null no fim do arquivo
+     * Lança StatementLineException se a linha for inválida (a leitura pode continuar)
+     */
+    StatementLine next() throws IOException;
+
+    /**
+     * Abre o leitor adequado pela extensão do arquivo (.csv, .txt, .ofx ou .qfx)
+     */
+    static StatementReader open(String filename, InputStream input) throws IOException {
+        String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".ofx") || name.endsWith(".qfx")) {
+            return new OfxStatementReader(input);
+        }
+        if (name.endsWith(".csv") || name.endsWith(".txt")) {
+            return new CsvStatementReader(input);
+        }
+        throw new IllegalArgumentException("Formato de arquivo não suportado! Use CSV ou OFX.");
+    }
+}
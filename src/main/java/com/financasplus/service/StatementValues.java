@@ -0,0 +1,100 @@
+package com.financasplus.service;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Conversões de valores comuns aos formatos de extrato
+ */
+final class StatementValues {
+
+    /**
+     * Tamanho máximo da descrição (coluna description de transactions)
+     */
+    static final int MAX_DESCRIPTION = 255;
+
+    /**
+     * Número só com pontos separando grupos de 3 dígitos ("1.234", "12.345.678"): milhar no formato brasileiro
+     */
+    private static final Pattern DOT_THOUSANDS = Pattern.compile("[-+]?[1-9]\\d{0,2}(\\.\\d{3})+");
+
+    private StatementValues() {
+    }
+
+    /**
+     * Converte um valor monetário nos formatos "1.234,56", "1,234.56", "1234.56", "R$ 1.234" ou "R$ -10,00"
+     * Sem vírgula, pontos seguidos de exatamente 3 dígitos são separadores de milhar ("1.234" é mil
+     * duzentos e trinta e quatro); valores com 3 casas decimais não existem em reais
+     * Retorna null se o texto não for um número
+     */
+    static BigDecimal parseAmount(String text) {
+        String value = text.replace("R$", "").replace(" ", "").replace("\u00A0", "");
+        int comma = value.lastIndexOf(',');
+        int dot = value.lastIndexOf('.');
+        if (comma > dot) {
+            // Vírgula decimal: os pontos são separadores de milhar
+            value = value.replace(".", "").replace(',', '.');
+        } else if (comma >= 0) {
+            value = value.replace(",", "");
+        } else if (DOT_THOUSANDS.matcher(value).matches()) {
+            value = value.replace(".", "");
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Lê o valor de uma linha e o valida como valor de transação (Money.validAmount, sem o sinal)
+     * Retorna o valor com 2 casas e o sinal original; valores inválidos viram erro da linha,
+     * em vez de derrubar o lote inteiro na gravação
+     */
+    static BigDecimal amount(int row, String text) {
+        BigDecimal amount = parseAmount(text);
+        if (amount == null || amount.signum() == 0) {
+            throw new StatementLineException(row, "Valor inválido: " + text);
+        }
+        BigDecimal valid;
+        try {
+            valid = Money.validAmount(amount.abs());
+        } catch (IllegalArgumentException e) {
+            throw new StatementLineException(row, e.getMessage() + " (" + text + ")");
+        }
+        return amount.signum() < 0 ? valid.negate() : valid;
+    }
+
+    /**
+     * Valida a data lida de uma linha (null se o texto não for uma data)
+     * Datas fora do intervalo aceito (TransactionDates) viram erro da linha, como os valores inválidos
+     */
+    static LocalDate date(int row, LocalDate date, String text) {
+        if (date == null) {
+            throw new StatementLineException(row, "Data inválida: " + text);
+        }
+        if (!TransactionDates.isSupported(date)) {
+            throw new StatementLineException(row, "Data fora do intervalo aceito (01/01/1900 a 31/12/2099): " + text);
+        }
+        return date;
+    }
+
+    /**
+     * Minúsculas e sem acentos, para comparar nomes de colunas, tipos e categorias
+     */
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text.trim(), Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Limita a descrição ao tamanho da coluna
+     */
+    static String description(String text) {
+        String value = text.trim();
+        return value.length() > MAX_DESCRIPTION ? value.substring(0, MAX_DESCRIPTION) : value;
+    }
+}
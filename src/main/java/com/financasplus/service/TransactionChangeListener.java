@@ -0,0 +1,27 @@
+package com.financasplus.service;
+
+import java.util.List;
+
+/**
+ * Interface para componentes que mantêm dados derivados das transações
+ * (totais, agregados, caches). Chamada pelo TransactionService dentro da
+ * mesma transação de banco que fez a escrita
+ */
+public interface TransactionChangeListener {
+
+    /**
+     * Notifica a alteração de uma transação
+     * before é null na criação e after é null na exclusão
+     */
+    void onTransactionChanged(TransactionSnapshot before, TransactionSnapshot after);
+
+    /**
+     * Notifica a criação de um lote de transações (importação de extratos)
+     * A implementação padrão repassa uma a uma; implementações podem agrupar as variações
+     */
+    default void onTransactionsCreated(List<TransactionSnapshot> created) {
+        for (TransactionSnapshot snapshot : created) {
+            onTransactionChanged(null, snapshot);
+        }
+    }
+}
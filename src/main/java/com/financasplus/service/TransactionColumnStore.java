@@ -0,0 +1,372 @@
+package com.financasplus.service;
+
+import com.financasplus.model.CacheInvalidation;
+import com.financasplus.model.Category;
+import com.financasplus.model.Transaction;
+import com.financasplus.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Cache das transações dos usuários ativos em colunas (TransactionColumns)
+ * As colunas são carregadas com uma consulta de projeção no primeiro acesso e atualizadas
+ * após o commit das escritas do TransactionService. O total de linhas em memória é limitado
+ * (financas.columns.max-rows, contando as somas por dia já montadas como linhas equivalentes):
+ * os usuários usados há mais tempo são descartados primeiro
+ */
+@Component
+public class TransactionColumnStore implements TransactionChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionColumnStore.class);
+
+    private static final int WRITE_STRIPES = 64;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${financas.columns.enabled:true}")
+    private boolean enabled;
+
+    @Value("${financas.columns.max-rows:5000000}")
+    private long maxRows;
+
+    private final Map<Long, TransactionColumns> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Linhas cobradas de cada entrada (TransactionColumns.weight no momento em que foi guardada)
+     */
+    private final Map<Long, Long> charged = new HashMap<>();
+
+    /**
+     * Escritas iniciadas ou concluídas por faixa de usuário; uma carga só entra no cache se
+     * nenhuma escrita da faixa começou ou terminou durante a consulta
+     */
+    private final long[] writeCounts = new long[WRITE_STRIPES];
+
+    /**
+     * Escritas registradas por faixa cujo afterCommit ainda não rodou; com alguma pendente, uma
+     * carga pode já conter a linha confirmada que o afterCommit vai adicionar de novo, então não é guardada
+     */
+    private final int[] pendingWrites = new int[WRITE_STRIPES];
+
+    private long cachedRows;
+
+    /**
+     * Indica se as análises devem usar as colunas (financas.columns.enabled)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Colunas do usuário, carregando-as do banco se não estiverem em memória
+     */
+    public TransactionColumns columns(Long userId) {
+        long writes;
+        synchronized (entries) {
+            TransactionColumns cached = entries.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+            writes = writeCounts[stripe(userId)];
+        }
+
+        TransactionColumns loaded = load(userId);
+        synchronized (entries) {
+            TransactionColumns cached = entries.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+            if (writeCounts[stripe(userId)] == writes && pendingWrites[stripe(userId)] == 0) {
+                put(userId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Somas por dia do usuário; ao serem montadas, a memória delas passa a contar no limite do cache
+     * (o que pode descartar outros usuários ou a própria entrada, se não couber)
+     */
+    public DailyTotals dailyTotals(Long userId) {
+        TransactionColumns columns = columns(userId);
+        DailyTotals totals = columns.dailyTotals();
+        synchronized (entries) {
+            Long weight = charged.get(userId);
+            if (entries.get(userId) == columns && weight != null && weight != columns.weight()) {
+                put(userId, columns);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Receitas, despesas e despesas por categoria do usuário entre as datas (inclusive)
+     * Os limites são opcionais (null ignora o limite)
+     */
+    public PeriodSummary summarize(Long userId, LocalDate start, LocalDate end) {
+        CentsAccumulator incomes = new CentsAccumulator(16);
+        CentsAccumulator expenses = new CentsAccumulator(16);
+        columns(userId).sumByCategory(start, end, incomes, expenses);
+
+        Map<String, BigDecimal> expensesByCategory = new LinkedHashMap<>();
+        for (Category category : categoryRegistry.findAll()) {
+            int key = category.getId().intValue();
+            if (expenses.count(key) > 0) {
+                expensesByCategory.put(category.getName(), Money.fromCents(expenses.sum(key)));
+            }
+        }
+        return new PeriodSummary(Money.fromCents(incomes.total()), Money.fromCents(expenses.total()),
+                expensesByCategory);
+    }
+
+    /**
+     * Descarta as colunas do usuário (exclusão da conta) agora e novamente ao fim da
+     * transação, para que uma carga concorrente não guarde as linhas anteriores ao commit
+     */
+    public void evict(Long userId) {
+        discard(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    discard(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Descarta as colunas do usuário alteradas em outra instância (InvalidationBus)
+     */
+    @EventListener
+    public void onDataInvalidated(DataInvalidatedEvent event) {
+        if (event.topic() == CacheInvalidation.Topic.TRANSACTIONS
+                || event.topic() == CacheInvalidation.Topic.USER_DELETED) {
+            evict(event.userId());
+        }
+    }
+
+    /**
+     * Contadores de escritas por faixa; restore só aceita colunas de faixas sem escritas depois disto
+     */
+    long[] writeMarks() {
+        synchronized (entries) {
+            return writeCounts.clone();
+        }
+    }
+
+    /**
+     * Grava as colunas em memória no snapshot, da usada há mais tempo para a mais recente
+     */
+    void writeSnapshot(SnapshotOutput out) {
+        List<Map.Entry<Long, TransactionColumns>> cached;
+        synchronized (entries) {
+            cached = new ArrayList<>(entries.entrySet());
+        }
+        out.writeInt(cached.size());
+        for (Map.Entry<Long, TransactionColumns> entry : cached) {
+            out.writeLong(entry.getKey());
+            entry.getValue().writeTo(out);
+        }
+    }
+
+    /**
+     * Lê as colunas gravadas por writeSnapshot, na mesma ordem
+     */
+    static Map<Long, TransactionColumns> readSnapshot(SnapshotInput in) {
+        int count = in.readCount(Long.BYTES + Integer.BYTES);
+        Map<Long, TransactionColumns> columns = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            columns.put(in.readLong(), TransactionColumns.readFrom(in));
+        }
+        return columns;
+    }
+
+    /**
+     * Coloca no cache as colunas restauradas de um snapshot, exceto as de usuários já carregados
+     * ou de faixas com escritas confirmadas depois de marks (writeMarks)
+     * Retorna a quantidade de usuários restaurados
+     */
+    int restore(Map<Long, TransactionColumns> columns, long[] marks) {
+        int restored = 0;
+        synchronized (entries) {
+            for (Map.Entry<Long, TransactionColumns> entry : columns.entrySet()) {
+                Long userId = entry.getKey();
+                if (!entries.containsKey(userId) && writeCounts[stripe(userId)] == marks[stripe(userId)]
+                        && pendingWrites[stripe(userId)] == 0) {
+                    put(userId, entry.getValue());
+                    restored++;
+                }
+            }
+        }
+        return restored;
+    }
+
+    @Override
+    public void onTransactionChanged(TransactionSnapshot before, TransactionSnapshot after) {
+        Long userId = after != null ? after.userId() : before.userId();
+        applyAfterCommit(userId,
+                before != null ? List.of(before) : List.of(),
+                after != null ? List.of(after) : List.of());
+    }
+
+    @Override
+    public void onTransactionsCreated(List<TransactionSnapshot> created) {
+        Map<Long, List<TransactionSnapshot>> byUser = new LinkedHashMap<>();
+        for (TransactionSnapshot snapshot : created) {
+            byUser.computeIfAbsent(snapshot.userId(), id -> new ArrayList<>()).add(snapshot);
+        }
+        byUser.forEach((userId, added) -> applyAfterCommit(userId, List.of(), added));
+    }
+
+    /**
+     * Aplica a alteração após o commit: uma escrita desfeita por rollback nunca chega às colunas
+     * A escrita conta como pendente desde o registro (antes do commit) até o fim da transação
+     */
+    private void applyAfterCommit(Long userId, List<TransactionSnapshot> removed, List<TransactionSnapshot> added) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(userId, removed, added);
+            return;
+        }
+        int stripe = stripe(userId);
+        synchronized (entries) {
+            writeCounts[stripe]++;
+            pendingWrites[stripe]++;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(userId, removed, added);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (entries) {
+                    writeCounts[stripe]++;
+                    pendingWrites[stripe]--;
+                }
+            }
+        });
+    }
+
+    /**
+     * Gera as novas colunas fora da trava; se outra alteração trocou a entrada nesse meio
+     * tempo, ela é descartada e recarregada no próximo acesso
+     * Roda depois do commit: uma falha aqui não pode chegar a quem escreveu, então a entrada
+     * é descartada em vez de ficar sem a alteração
+     */
+    private void apply(Long userId, List<TransactionSnapshot> removed, List<TransactionSnapshot> added) {
+        TransactionColumns current;
+        synchronized (entries) {
+            writeCounts[stripe(userId)]++;
+            current = entries.get(userId);
+        }
+        if (current == null) {
+            return;
+        }
+
+        TransactionColumns updated;
+        try {
+            updated = current.withChanges(removed, added);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao atualizar as colunas do usuário {}, entrada descartada", userId, e);
+            synchronized (entries) {
+                remove(userId);
+            }
+            return;
+        }
+        synchronized (entries) {
+            if (updated != null && entries.get(userId) == current) {
+                put(userId, updated);
+            } else {
+                remove(userId);
+            }
+        }
+    }
+
+    private void discard(Long userId) {
+        synchronized (entries) {
+            writeCounts[stripe(userId)]++;
+            remove(userId);
+        }
+    }
+
+    /**
+     * Lê as colunas em uma transação própria, para nunca guardar escritas ainda não confirmadas
+     */
+    private TransactionColumns load(Long userId) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(true);
+        return template.execute(status -> {
+            TransactionColumns.Builder builder = TransactionColumns.builder(1024);
+            try (Stream<Object[]> rows = transactionRepository.streamColumns(userId)) {
+                rows.forEach(row -> builder.add(
+                        ((LocalDateTime) row[0]).toLocalDate(),
+                        Money.toCents((BigDecimal) row[1]),
+                        (Long) row[2],
+                        (Transaction.TransactionType) row[3]));
+            }
+            return builder.build();
+        });
+    }
+
+    private void put(Long userId, TransactionColumns columns) {
+        long weight = columns.weight();
+        if (weight > maxRows) {
+            remove(userId);
+            return;
+        }
+        entries.put(userId, columns);
+        Long previous = charged.put(userId, weight);
+        cachedRows += weight - (previous != null ? previous : 0);
+
+        Iterator<Map.Entry<Long, TransactionColumns>> eldest = entries.entrySet().iterator();
+        while (cachedRows > maxRows && eldest.hasNext()) {
+            Map.Entry<Long, TransactionColumns> entry = eldest.next();
+            if (!entry.getKey().equals(userId)) {
+                cachedRows -= charged.remove(entry.getKey());
+                eldest.remove();
+            }
+        }
+    }
+
+    private void remove(Long userId) {
+        entries.remove(userId);
+        Long previous = charged.remove(userId);
+        if (previous != null) {
+            cachedRows -= previous;
+        }
+    }
+
+    private static int stripe(Long userId) {
+        return Math.floorMod(userId.hashCode(), WRITE_STRIPES);
+    }
+}
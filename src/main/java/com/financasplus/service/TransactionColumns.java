@@ -0,0 +1,271 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Transaction;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Transações de um usuário em colunas primitivas, ordenadas por data, para as análises em memória
+ * Cada posição guarda o dia (epochDay), o valor em centavos, o id da categoria e o tipo
+ * (bit ligado = receita). Imutável: alterações geram uma nova instância (copy-on-write),
+ * então as leituras não precisam de trava
+ */
+public final class TransactionColumns {
+
+    private static final TransactionColumns EMPTY = new TransactionColumns(new int[0], new long[0], new short[0], new BitSet(), 0);
+
+    private final int[] days;
+    private final long[] cents;
+    private final short[] categories;
+    private final BitSet income;
+    private final int size;
+
+    /**
+     * Somas acumuladas por dia, montadas no primeiro uso e mantidas nas alterações
+     */
+    private volatile DailyTotals dailyTotals;
+
+    private TransactionColumns(int[] days, long[] cents, short[] categories, BitSet income, int size) {
+        this.days = days;
+        this.cents = cents;
+        this.categories = categories;
+        this.income = income;
+        this.size = size;
+    }
+
+    public static TransactionColumns empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int day(int index) {
+        return days[index];
+    }
+
+    public long cents(int index) {
+        return cents[index];
+    }
+
+    public short category(int index) {
+        return categories[index];
+    }
+
+    public boolean isIncome(int index) {
+        return income.get(index);
+    }
+
+    /**
+     * Primeira posição com dia maior ou igual a epochDay (size() se não houver)
+     */
+    public int lowerBound(int epochDay) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (days[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Somas acumuladas por dia (montadas na primeira chamada)
+     */
+    public DailyTotals dailyTotals() {
+        DailyTotals totals = dailyTotals;
+        if (totals == null) {
+            totals = DailyTotals.of(this);
+            dailyTotals = totals;
+        }
+        return totals;
+    }
+
+    /**
+     * Linhas cobradas no limite de memória do cache: as transações e, se já montadas, as somas por dia
+     */
+    public long weight() {
+        DailyTotals totals = dailyTotals;
+        return size + (totals != null ? totals.footprint() : 0);
+    }
+
+    /**
+     * Soma as transações entre os dias informados (inclusive) por categoria,
+     * separando receitas e despesas; as chaves dos acumuladores são os ids das categorias
+     */
+    public void sumByCategory(LocalDate start, LocalDate end, CentsAccumulator incomes, CentsAccumulator expenses) {
+        int from = start == null ? 0 : lowerBound(toDay(start));
+        int to = end == null ? size : lowerBound(toDay(end) + 1);
+        for (int i = from; i < to; i++) {
+            if (income.get(i)) {
+                incomes.add(categories[i], cents[i]);
+            } else {
+                expenses.add(categories[i], cents[i]);
+            }
+        }
+    }
+
+    /**
+     * Nova instância sem as transações removidas e com as adicionadas, mantendo a ordem por data
+     * Retorna null se alguma removida não for encontrada (as colunas estão desatualizadas)
+     */
+    public TransactionColumns withChanges(List<TransactionSnapshot> removed, List<TransactionSnapshot> added) {
+        BitSet skip = new BitSet(size);
+        for (TransactionSnapshot snapshot : removed) {
+            int index = find(snapshot, skip);
+            if (index < 0) {
+                return null;
+            }
+            skip.set(index);
+        }
+
+        List<TransactionSnapshot> sorted = new ArrayList<>(added);
+        sorted.sort(Comparator.comparing(TransactionSnapshot::date));
+
+        Builder builder = new Builder(size - removed.size() + added.size());
+        int next = 0;
+        for (int i = 0; i < size; i++) {
+            while (next < sorted.size() && toDay(sorted.get(next).date().toLocalDate()) < days[i]) {
+                builder.add(sorted.get(next++));
+            }
+            if (!skip.get(i)) {
+                builder.add(days[i], cents[i], categories[i], income.get(i));
+            }
+        }
+        while (next < sorted.size()) {
+            builder.add(sorted.get(next++));
+        }
+        TransactionColumns updated = builder.build();
+
+        // As somas por dia acompanham a alteração sem varrer as colunas de novo
+        DailyTotals totals = dailyTotals;
+        if (totals != null && updated != EMPTY) {
+            updated.dailyTotals = totals.withChanges(removed, added);
+        }
+        return updated;
+    }
+
+    /**
+     * Grava as colunas em um snapshot; as somas por dia não são gravadas (remontadas no primeiro uso)
+     */
+    void writeTo(SnapshotOutput out) {
+        out.writeInt(size);
+        out.writeInts(days, size);
+        out.writeLongs(cents, size);
+        out.writeShorts(categories, size);
+        long[] incomeWords = income.toLongArray();
+        out.writeInt(incomeWords.length);
+        out.writeLongs(incomeWords, incomeWords.length);
+    }
+
+    /**
+     * Lê colunas gravadas por writeTo
+     */
+    static TransactionColumns readFrom(SnapshotInput in) {
+        int size = in.readCount(Integer.BYTES + Long.BYTES + Short.BYTES);
+        int[] days = in.readInts(size);
+        long[] cents = in.readLongs(size);
+        short[] categories = in.readShorts(size);
+        BitSet income = BitSet.valueOf(in.readLongs(in.readCount(Long.BYTES)));
+        return size == 0 ? EMPTY : new TransactionColumns(days, cents, categories, income, size);
+    }
+
+    /**
+     * Posição de uma transação com os mesmos valores (qualquer uma serve: são indistinguíveis nas somas)
+     */
+    private int find(TransactionSnapshot snapshot, BitSet skip) {
+        int day = toDay(snapshot.date().toLocalDate());
+        long amount = Money.toCents(snapshot.amount());
+        short category = toCategory(snapshot.categoryId());
+        boolean isIncome = snapshot.type() == Transaction.TransactionType.RECEITA;
+        for (int i = lowerBound(day); i < size && days[i] == day; i++) {
+            if (!skip.get(i) && cents[i] == amount && categories[i] == category && income.get(i) == isIncome) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int toDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    private static short toCategory(Long categoryId) {
+        if (categoryId < 0 || categoryId > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Id de categoria fora do intervalo das colunas: " + categoryId);
+        }
+        return categoryId.shortValue();
+    }
+
+    /**
+     * Monta as colunas a partir de transações já em ordem de data
+     */
+    public static final class Builder {
+
+        private int[] days;
+        private long[] cents;
+        private short[] categories;
+        private final BitSet income = new BitSet();
+        private int size;
+
+        private Builder(int expectedSize) {
+            int capacity = Math.max(expectedSize, 16);
+            days = new int[capacity];
+            cents = new long[capacity];
+            categories = new short[capacity];
+        }
+
+        public Builder add(LocalDate date, long amountCents, Long categoryId, Transaction.TransactionType type) {
+            return add(toDay(date), amountCents, toCategory(categoryId), type == Transaction.TransactionType.RECEITA);
+        }
+
+        private Builder add(TransactionSnapshot snapshot) {
+            return add(snapshot.date().toLocalDate(), Money.toCents(snapshot.amount()), snapshot.categoryId(),
+                    snapshot.type());
+        }
+
+        private Builder add(int day, long amountCents, short category, boolean isIncome) {
+            if (size > 0 && day < days[size - 1]) {
+                throw new IllegalArgumentException("As transações devem estar em ordem de data");
+            }
+            if (size == days.length) {
+                int capacity = days.length * 2;
+                days = Arrays.copyOf(days, capacity);
+                cents = Arrays.copyOf(cents, capacity);
+                categories = Arrays.copyOf(categories, capacity);
+            }
+            days[size] = day;
+            cents[size] = amountCents;
+            categories[size] = category;
+            income.set(size, isIncome);
+            size++;
+            return this;
+        }
+
+        public TransactionColumns build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            if (size < days.length) {
+                days = Arrays.copyOf(days, size);
+                cents = Arrays.copyOf(cents, size);
+                categories = Arrays.copyOf(categories, size);
+            }
+            return new TransactionColumns(days, cents, categories, income, size);
+        }
+    }
+}
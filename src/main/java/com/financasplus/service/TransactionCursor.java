@@ -0,0 +1,50 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Transaction;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Cursor de paginação por chave (keyset) sobre a ordenação (data, id)
+ * Representado em texto como "segundosEpoch-id" para uso em URLs
+ */
+public record TransactionCursor(LocalDateTime date, Long id) {
+
+    /**
+     * Cursor posicionado depois da transação mais recente possível (início da listagem)
+     */
+    public static final TransactionCursor FIRST = new TransactionCursor(
+            LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    /**
+     * Cria o cursor que aponta para a transação informada
+     */
+    public static TransactionCursor of(Transaction transaction) {
+        return new TransactionCursor(transaction.getDate(), transaction.getId());
+    }
+
+    /**
+     * Converte o texto do cursor; lança IllegalArgumentException se for inválido
+     */
+    public static TransactionCursor decode(String value) {
+        int separator = value.lastIndexOf('-');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Cursor inválido: " + value);
+        }
+        try {
+            long epochSecond = Long.parseLong(value.substring(0, separator));
+            long id = Long.parseLong(value.substring(separator + 1));
+            return new TransactionCursor(LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC), id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + value, e);
+        }
+    }
+
+    /**
+     * Representação em texto do cursor
+     */
+    public String encode() {
+        return date.toEpochSecond(ZoneOffset.UTC) + "-" + id;
+    }
+}
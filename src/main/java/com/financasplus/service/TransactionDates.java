@@ -0,0 +1,46 @@
+package com.financasplus.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Intervalo de datas aceito nas transações e nos relatórios
+ * As somas por dia (DailyTotals) reservam uma posição por dia entre a primeira e a última transação
+ * do usuário, então uma data distante custaria memória proporcional ao intervalo inteiro
+ */
+public final class TransactionDates {
+
+    /**
+     * Primeiro dia aceito
+     */
+    public static final LocalDate MIN = LocalDate.of(1900, 1, 1);
+
+    /**
+     * Último dia aceito
+     */
+    public static final LocalDate MAX = LocalDate.of(2099, 12, 31);
+
+    private TransactionDates() {
+    }
+
+    /**
+     * Indica se o dia está no intervalo aceito
+     */
+    public static boolean isSupported(LocalDate date) {
+        return date != null && !date.isBefore(MIN) && !date.isAfter(MAX);
+    }
+
+    /**
+     * Valida a data de uma transação antes de gravá-la
+     * Lança IllegalArgumentException se estiver ausente ou fora do intervalo aceito
+     */
+    public static LocalDateTime validDate(LocalDateTime date) {
+        if (date == null) {
+            throw new IllegalArgumentException("A data da transação é obrigatória!");
+        }
+        if (!isSupported(date.toLocalDate())) {
+            throw new IllegalArgumentException("A data da transação deve estar entre 01/01/1900 e 31/12/2099!");
+        }
+        return date;
+    }
+}
@@ -0,0 +1,31 @@
+package com.financasplus.service;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.financasplus.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Transação na API REST (/api/v1), sem referências a entidades: a serialização nunca
+ * dispara carregamento tardio. O filtro "fields" permite devolver só parte dos campos (?fields=id,amount)
+ */
+@JsonFilter("fields")
+public record TransactionDto(
+        Long id,
+        LocalDate date,
+        String description,
+        BigDecimal amount,
+        Transaction.TransactionType type,
+        Long categoryId,
+        String category) {
+
+    /**
+     * Copia a transação; o nome da categoria vem de quem chama (registro em memória), sem tocar no proxy
+     */
+    public static TransactionDto of(Transaction transaction, String categoryName) {
+        return new TransactionDto(transaction.getId(), transaction.getDate().toLocalDate(),
+                transaction.getDescription(), transaction.getAmount(), transaction.getType(),
+                transaction.getCategory().getId(), categoryName);
+    }
+}
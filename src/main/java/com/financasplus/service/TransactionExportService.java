@@ -0,0 +1,143 @@
+package com.financasplus.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financasplus.model.Category;
+import com.financasplus.model.Transaction;
+import com.financasplus.model.User;
+import com.financasplus.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service para exportar o histórico de transações (CSV e JSON)
+ * As linhas são lidas do banco em fluxo e escritas direto na saída; o contexto de
+ * persistência é limpo periodicamente, então a memória usada não cresce com o histórico
+ */
+@Service
+@Transactional(readOnly = true)
+public class TransactionExportService {
+
+    /**
+     * Quantidade de linhas entre cada limpeza do contexto de persistência
+     */
+    private static final int CLEAR_INTERVAL = 1000;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Escreve as transações em CSV, no mesmo formato aceito pela importação de extratos
+     * Retorna a quantidade de linhas exportadas
+     */
+    public long exportCsv(User user, LocalDateTime startDate, LocalDateTime endDate,
+                          Transaction.TransactionType type, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write("data;descricao;valor;tipo;categoria\n");
+
+        long count = 0;
+        try (Stream<Transaction> rows = transactionRepository.streamForExport(user, startDate, endDate, type)) {
+            Iterator<Transaction> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Transaction transaction = iterator.next();
+                writer.write(transaction.getDate().toLocalDate().toString());
+                writer.write(';');
+                writer.write(csvField(transaction.getDescription()));
+                writer.write(';');
+                writer.write(transaction.getAmount().toPlainString());
+                writer.write(';');
+                writer.write(transaction.getType().name());
+                writer.write(';');
+                writer.write(csvField(categoryName(transaction)));
+                writer.write('\n');
+                count = rowWritten(count);
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Escreve as transações como um array JSON, gerado de forma incremental
+     * Retorna a quantidade de linhas exportadas
+     */
+    public long exportJson(User user, LocalDateTime startDate, LocalDateTime endDate,
+                           Transaction.TransactionType type, OutputStream output) throws IOException {
+        long count = 0;
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8);
+             Stream<Transaction> rows = transactionRepository.streamForExport(user, startDate, endDate, type)) {
+            // A resposta HTTP é fechada pelo servidor, não pelo gerador
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartArray();
+            Iterator<Transaction> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Transaction transaction = iterator.next();
+                json.writeStartObject();
+                json.writeNumberField("id", transaction.getId());
+                json.writeStringField("date", transaction.getDate().toLocalDate().toString());
+                json.writeStringField("description", transaction.getDescription());
+                json.writeNumberField("amount", transaction.getAmount());
+                json.writeStringField("type", transaction.getType().name());
+                json.writeNumberField("categoryId", transaction.getCategory().getId());
+                json.writeStringField("category", categoryName(transaction));
+                json.writeEndObject();
+                count = rowWritten(count);
+            }
+            json.writeEndArray();
+        }
+        return count;
+    }
+
+    /**
+     * Conta a linha e, a cada CLEAR_INTERVAL, descarta as entidades já escritas
+     */
+    private long rowWritten(long count) {
+        long written = count + 1;
+        if (written % CLEAR_INTERVAL == 0) {
+            entityManager.clear();
+        }
+        return written;
+    }
+
+    /**
+     * Nome da categoria pelo registro em memória (o id do proxy não inicializa a associação)
+     */
+    private String categoryName(Transaction transaction) {
+        return categoryRegistry.findById(transaction.getCategory().getId())
+                .map(Category::getName)
+                .orElse("");
+    }
+
+    /**
+     * Coloca o campo entre aspas se ele contiver o separador, aspas ou quebra de linha
+     */
+    private static String csvField(String value) {
+        if (value.indexOf(';') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
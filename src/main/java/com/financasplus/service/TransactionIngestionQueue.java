@@ -0,0 +1,224 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Category;
+import com.financasplus.model.Transaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fila de ingestão de transações para integrações com alto volume de escritas unitárias
+ * As transações são validadas ao entrar na fila (limitada: quem chega com ela cheia espera até
+ * financas.ingestion.offer-timeout e é recusado) e gravadas por uma única thread em lotes de até
+ * financas.ingestion.batch-size transações ou financas.ingestion.max-wait desde a primeira do lote,
+ * cada lote em uma transação com inserções agrupadas (TransactionService.createTransactions)
+ * Cada chamada recebe um CompletableFuture concluído com o id após o commit do seu lote
+ * As entidades só são montadas na thread de gravação: quem envia não ocupa conexão do banco
+ * enquanto aguarda (com open-in-view, a conexão ficaria presa até o fim da requisição)
+ */
+@Component
+public class TransactionIngestionQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionIngestionQueue.class);
+
+    /**
+     * Intervalo em que a thread de gravação confere se a aplicação está desligando
+     */
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${financas.ingestion.capacity:10000}")
+    private int capacity;
+
+    @Value("${financas.ingestion.batch-size:500}")
+    private int batchSize;
+
+    @Value("${financas.ingestion.max-wait:20ms}")
+    private Duration maxWait;
+
+    @Value("${financas.ingestion.offer-timeout:100ms}")
+    private Duration offerTimeout;
+
+    private BlockingQueue<Pending> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(capacity);
+        running = true;
+        writer = new Thread(this::drain, "ingestion-writer");
+        writer.start();
+    }
+
+    /**
+     * Para de aceitar transações e aguarda a gravação das que já estão na fila
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join();
+    }
+
+    /**
+     * Valida a transação e a coloca na fila
+     * Lança IllegalArgumentException se os dados forem inválidos e RejectedExecutionException
+     * se a fila continuar cheia após o prazo (ou a aplicação estiver desligando)
+     */
+    public CompletableFuture<Long> submit(Long userId, Long categoryId, Transaction.TransactionType type,
+                                          String description, BigDecimal amount, LocalDateTime date) {
+        // Tudo que o banco recusaria é recusado aqui: uma falha na gravação só chega ao cliente como erro 500
+        BigDecimal validAmount = Money.validAmount(amount);
+        if (description == null || description.isBlank()) {
+            throw new IllegalArgumentException("A descrição da transação é obrigatória!");
+        }
+        if (description.length() > StatementValues.MAX_DESCRIPTION) {
+            throw new IllegalArgumentException("A descrição da transação deve ter no máximo "
+                    + StatementValues.MAX_DESCRIPTION + " caracteres!");
+        }
+        if (type == null || date == null) {
+            throw new IllegalArgumentException("Tipo e data da transação são obrigatórios!");
+        }
+        TransactionDates.validDate(date);
+        Category category = categoryRegistry.findById(categoryId)
+                .orElseThrow(() -> new IllegalArgumentException("Categoria não encontrada!"));
+
+        Pending pending = new Pending(userId, category, type, description, validAmount, date, new CompletableFuture<>());
+        boolean accepted;
+        try {
+            accepted = running && queue.offer(pending, offerTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            throw new RejectedExecutionException("Fila de ingestão cheia, tente novamente em instantes");
+        }
+        return pending.ack();
+    }
+
+    /**
+     * Transações aguardando gravação
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Laço da thread de gravação: junta um lote e o grava, até a aplicação desligar e a fila esvaziar
+     */
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWait.toNanos();
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failAll(batch, e);
+                return;
+            } catch (RuntimeException e) {
+                failAll(batch, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Grava o lote em uma transação; se o banco rejeitar, cada transação é gravada sozinha
+     * para que só as problemáticas falhem
+     */
+    private void write(List<Pending> batch) {
+        long start = System.nanoTime();
+        List<Long> ids;
+        try {
+            ids = persist(batch);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar lote de {} transações, gravando uma a uma: {}", batch.size(), e.getMessage());
+            for (Pending pending : batch) {
+                try {
+                    pending.ack().complete(persist(List.of(pending)).get(0));
+                } catch (RuntimeException single) {
+                    pending.ack().completeExceptionally(single);
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).ack().complete(ids.get(i));
+        }
+        log.debug("Lote de {} transações gravado em {} ms", batch.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Monta as entidades e as grava em uma única transação; retorna os ids na ordem do lote
+     */
+    private List<Long> persist(List<Pending> batch) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<Transaction> transactions = new ArrayList<>(batch.size());
+            for (Pending pending : batch) {
+                transactions.add(new Transaction(userService.getReference(pending.userId()), pending.category(),
+                        pending.type(), pending.description(), pending.amount(), pending.date()));
+            }
+            transactionService.createTransactions(transactions);
+            return transactions.stream().map(Transaction::getId).toList();
+        });
+    }
+
+    private static void failAll(List<Pending> batch, Exception cause) {
+        for (Pending pending : batch) {
+            pending.ack().completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Transação na fila e a confirmação de quem a enviou
+     */
+    private record Pending(Long userId, Category category, Transaction.TransactionType type, String description,
+                           BigDecimal amount, LocalDateTime date, CompletableFuture<Long> ack) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Transaction;
+
+import java.util.List;
+
+/**
+ * Página de transações obtida por paginação por chave
+ * nextCursor aponta para as transações mais antigas e previousCursor para as
+ * mais recentes; cada um é null quando não há página naquela direção
+ */
+public record TransactionPage(List<Transaction> transactions, String nextCursor, String previousCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+}
@@ -0,0 +1,590 @@
+package com.financasplus.service;
+
+import com.financasplus.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido em memória das descrições das transações, separado por usuário
+ * Cada palavra normalizada (SearchText) aponta para os ids das transações em ordem crescente.
+ * A busca trata cada palavra da consulta como prefixo e devolve os ids que contêm todas,
+ * do mais novo para o mais antigo, paginados por id. Atualizado após o commit das escritas
+ * do TransactionService e reconstruído na inicialização (financas.search.rebuild-on-startup),
+ * a menos que tenha sido restaurado de um snapshot (SnapshotService)
+ */
+@Component
+public class TransactionSearchIndex implements TransactionChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionSearchIndex.class);
+
+    /**
+     * Prefixos menores que isto só casam com a palavra exata (evita expandir para o vocabulário inteiro)
+     */
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    /**
+     * Acima desta quantidade de palavras, as listas de um prefixo são unidas antes da busca
+     */
+    private static final int MERGE_THRESHOLD = 64;
+
+    /**
+     * Usuários por consulta ao reindexar os desatualizados após restaurar um snapshot
+     */
+    private static final int REINDEX_BATCH = 1000;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${financas.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    private volatile Map<Long, UserIndex> users = new ConcurrentHashMap<>();
+
+    /**
+     * Alterações confirmadas durante uma reconstrução, reaplicadas no índice novo antes da troca
+     */
+    private List<Consumer<Map<Long, UserIndex>>> pending;
+
+    /**
+     * Alterações confirmadas durante cada reindexação de usuários em andamento (reindexUsers)
+     */
+    private final List<List<Consumer<Map<Long, UserIndex>>>> reindexing = new ArrayList<>();
+
+    /**
+     * Indica se o índice cobre todas as transações (reconstruído ou restaurado de um snapshot)
+     */
+    private volatile boolean ready;
+
+    /**
+     * Ids das transações do usuário cuja descrição contém todas as palavras da consulta (como prefixo),
+     * em ordem decrescente e menores que beforeId (null para começar do mais novo)
+     */
+    public List<Long> search(Long userId, String query, Long beforeId, int limit) {
+        Set<String> tokens = SearchText.tokens(query);
+        UserIndex index = users.get(userId);
+        if (tokens.isEmpty() || index == null) {
+            return List.of();
+        }
+        return index.search(tokens, beforeId == null ? Long.MAX_VALUE : beforeId - 1, limit);
+    }
+
+    /**
+     * Reconstrói o índice de todos os usuários a partir do banco, sem bloquear buscas e escritas
+     * Retorna a quantidade de transações indexadas
+     */
+    public int rebuild() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        Map<Long, UserIndex> rebuilt = new ConcurrentHashMap<>();
+        int count;
+        try {
+            count = index(rebuilt, () -> transactionRepository.streamDescriptions());
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pending = null;
+            }
+            throw e;
+        }
+        replace(rebuilt);
+        return count;
+    }
+
+    /**
+     * Indica se o índice cobre todas as transações; só então vale gravá-lo em um snapshot
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Grava o índice no snapshot: por usuário, o id, a quantidade de transações e as palavras com seus ids
+     */
+    void writeSnapshot(SnapshotOutput out) {
+        List<Map.Entry<Long, UserIndex>> indexed = new ArrayList<>(users.entrySet());
+        out.writeInt(indexed.size());
+        for (Map.Entry<Long, UserIndex> entry : indexed) {
+            out.writeLong(entry.getKey());
+            entry.getValue().writeTo(out);
+        }
+    }
+
+    /**
+     * Restaura o índice gravado por writeSnapshot. staleUsers recebe a quantidade de transações
+     * de cada usuário no snapshot e devolve os desatualizados, que são reindexados a partir do banco;
+     * as alterações confirmadas durante a restauração são reaplicadas antes da troca
+     * Retorna a quantidade de usuários aproveitados do snapshot
+     */
+    int restore(SnapshotInput in, Function<Map<Long, Integer>, Set<Long>> staleUsers) {
+        int count = in.readCount(Long.BYTES + 2 * Integer.BYTES);
+        Map<Long, UserIndex> restored = new ConcurrentHashMap<>();
+        Map<Long, Integer> documents = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            Long userId = in.readLong();
+            documents.put(userId, in.readInt());
+            restored.put(userId, UserIndex.readFrom(in));
+        }
+
+        int kept;
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        try {
+            List<Long> stale = new ArrayList<>(staleUsers.apply(documents));
+            stale.forEach(restored::remove);
+            kept = restored.size();
+            for (int from = 0; from < stale.size(); from += REINDEX_BATCH) {
+                List<Long> batch = stale.subList(from, Math.min(stale.size(), from + REINDEX_BATCH));
+                index(restored, () -> transactionRepository.streamDescriptionsOfUsers(batch));
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pending = null;
+            }
+            throw e;
+        }
+        replace(restored);
+        return kept;
+    }
+
+    /**
+     * Reconstrói o índice quando a aplicação termina de iniciar
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup && !ready) {
+            long start = System.nanoTime();
+            int count = rebuild();
+            log.info("Índice de busca reconstruído: {} transações em {} ms", count, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Relê do banco o índice dos usuários indicados (transações alteradas por outra instância)
+     * As alterações locais confirmadas durante a leitura são reaplicadas antes da troca
+     */
+    public void reindexUsers(Collection<Long> userIds) {
+        List<Long> ids = new ArrayList<>(userIds);
+        Map<Long, UserIndex> fresh = new ConcurrentHashMap<>();
+        List<Consumer<Map<Long, UserIndex>>> concurrent = new ArrayList<>();
+        synchronized (this) {
+            reindexing.add(concurrent);
+        }
+        try {
+            for (int from = 0; from < ids.size(); from += REINDEX_BATCH) {
+                List<Long> batch = ids.subList(from, Math.min(ids.size(), from + REINDEX_BATCH));
+                index(fresh, () -> transactionRepository.streamDescriptionsOfUsers(batch));
+            }
+        } finally {
+            synchronized (this) {
+                reindexing.remove(concurrent);
+            }
+        }
+
+        Consumer<Map<Long, UserIndex>> swap = target -> {
+            for (Long userId : ids) {
+                UserIndex index = fresh.get(userId);
+                if (index == null) {
+                    target.remove(userId);
+                } else {
+                    target.put(userId, index);
+                }
+            }
+        };
+        synchronized (this) {
+            for (Consumer<Map<Long, UserIndex>> change : concurrent) {
+                change.accept(fresh);
+            }
+            if (pending != null) {
+                pending.add(swap);
+            }
+            swap.accept(users);
+        }
+    }
+
+    /**
+     * Remove o índice do usuário após o commit (exclusão da conta)
+     */
+    public void removeUser(Long userId) {
+        applyAfterCommit(users -> users.remove(userId));
+    }
+
+    /**
+     * Atualiza o índice com as escritas feitas em outra instância (InvalidationBus)
+     */
+    @EventListener
+    public void onDataInvalidated(DataInvalidatedEvent event) {
+        switch (event.topic()) {
+            case TRANSACTIONS -> reindexUsers(List.of(event.userId()));
+            case USER_DELETED -> apply(users -> users.remove(event.userId()));
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void onTransactionChanged(TransactionSnapshot before, TransactionSnapshot after) {
+        TransactionSnapshot current = after != null ? after : before;
+        applyAfterCommit(List.of(new Change(current.id(), current.userId(),
+                before != null ? before.description() : null,
+                after != null ? after.description() : null)));
+    }
+
+    @Override
+    public void onTransactionsCreated(List<TransactionSnapshot> created) {
+        List<Change> changes = new ArrayList<>(created.size());
+        for (TransactionSnapshot snapshot : created) {
+            changes.add(new Change(snapshot.id(), snapshot.userId(), null, snapshot.description()));
+        }
+        applyAfterCommit(changes);
+    }
+
+    /**
+     * Aplica as alterações após o commit: uma escrita desfeita por rollback nunca chega ao índice
+     */
+    private void applyAfterCommit(List<Change> changes) {
+        applyAfterCommit(users -> {
+            for (Change change : changes) {
+                change.applyTo(users);
+            }
+        });
+    }
+
+    private void applyAfterCommit(Consumer<Map<Long, UserIndex>> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private void apply(Consumer<Map<Long, UserIndex>> change) {
+        Map<Long, UserIndex> target;
+        synchronized (this) {
+            if (pending != null) {
+                pending.add(change);
+            }
+            for (List<Consumer<Map<Long, UserIndex>>> changes : reindexing) {
+                changes.add(change);
+            }
+            target = users;
+        }
+        change.accept(target);
+    }
+
+    /**
+     * Indexa as transações (id, id do usuário, descrição) lidas em uma transação somente leitura
+     */
+    private int index(Map<Long, UserIndex> target, Supplier<Stream<Object[]>> query) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> {
+            int indexed = 0;
+            try (Stream<Object[]> rows = query.get()) {
+                for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                    userIndex(target, (Long) row[1]).add((Long) row[0], SearchText.tokens((String) row[2]));
+                    indexed++;
+                }
+            }
+            return indexed;
+        });
+    }
+
+    /**
+     * Reaplica as alterações pendentes no índice novo e o coloca no lugar do atual
+     */
+    private synchronized void replace(Map<Long, UserIndex> replacement) {
+        for (Consumer<Map<Long, UserIndex>> change : pending) {
+            change.accept(replacement);
+        }
+        users = replacement;
+        pending = null;
+        ready = true;
+    }
+
+    private static UserIndex userIndex(Map<Long, UserIndex> users, Long userId) {
+        return users.computeIfAbsent(userId, id -> new UserIndex());
+    }
+
+    /**
+     * Alteração de uma transação: palavras da descrição anterior saem, as da nova entram
+     * Reaplicar é seguro (as listas são conjuntos de ids)
+     */
+    private record Change(Long id, Long userId, String removed, String added) {
+
+        void applyTo(Map<Long, UserIndex> users) {
+            UserIndex index = userIndex(users, userId);
+            Set<String> removedTokens = SearchText.tokens(removed);
+            Set<String> addedTokens = SearchText.tokens(added);
+            removedTokens.removeAll(addedTokens);
+            index.update(id, removedTokens, addedTokens);
+        }
+    }
+
+    /**
+     * Índice de um usuário: palavra → ids, protegido por uma trava de leitura/escrita
+     */
+    private static final class UserIndex {
+
+        private final TreeMap<String, Postings> terms = new TreeMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        void add(long id, Set<String> tokens) {
+            update(id, Set.of(), tokens);
+        }
+
+        void update(long id, Set<String> removed, Set<String> added) {
+            lock.writeLock().lock();
+            try {
+                for (String token : removed) {
+                    Postings postings = terms.get(token);
+                    if (postings != null && postings.remove(id) && postings.size == 0) {
+                        terms.remove(token);
+                    }
+                }
+                for (String token : added) {
+                    terms.computeIfAbsent(token, t -> new Postings()).add(id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Grava a quantidade de transações indexadas e as palavras com seus ids
+         * As listas são copiadas sob a trava de leitura e gravadas fora dela
+         */
+        void writeTo(SnapshotOutput out) {
+            String[] words;
+            long[][] ids;
+            lock.readLock().lock();
+            try {
+                words = terms.keySet().toArray(new String[0]);
+                ids = new long[words.length][];
+                int i = 0;
+                for (Postings postings : terms.values()) {
+                    ids[i++] = Arrays.copyOf(postings.ids, postings.size);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            out.writeInt(Postings.union(Arrays.stream(ids).map(Postings::of).toList()).size);
+            out.writeInt(words.length);
+            for (int i = 0; i < words.length; i++) {
+                out.writeString(words[i]);
+                out.writeInt(ids[i].length);
+                out.writeLongs(ids[i], ids[i].length);
+            }
+        }
+
+        /**
+         * Lê as palavras gravadas por writeTo (a quantidade de transações já foi lida por quem chama)
+         */
+        static UserIndex readFrom(SnapshotInput in) {
+            UserIndex index = new UserIndex();
+            int count = in.readCount(2 * Integer.BYTES);
+            for (int i = 0; i < count; i++) {
+                String word = in.readString();
+                index.terms.put(word, Postings.of(in.readLongs(in.readCount(Long.BYTES))));
+            }
+            return index;
+        }
+
+        List<Long> search(Set<String> tokens, long bound, int limit) {
+            lock.readLock().lock();
+            try {
+                List<List<Postings>> required = new ArrayList<>(tokens.size());
+                for (String token : tokens) {
+                    List<Postings> alternatives = matching(token);
+                    if (alternatives.isEmpty()) {
+                        return List.of();
+                    }
+                    required.add(alternatives);
+                }
+
+                List<Long> ids = new ArrayList<>(limit);
+                while (ids.size() < limit && bound >= 0) {
+                    long id = seek(required, bound);
+                    if (id < 0) {
+                        break;
+                    }
+                    ids.add(id);
+                    bound = id - 1;
+                }
+                return ids;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Listas das palavras que começam com o prefixo (ou só a palavra exata, para prefixos curtos)
+         */
+        private List<Postings> matching(String token) {
+            if (token.length() < MIN_PREFIX_LENGTH) {
+                Postings exact = terms.get(token);
+                return exact == null ? List.of() : List.of(exact);
+            }
+            Collection<Postings> prefixed = terms.subMap(token, true, token + Character.MAX_VALUE, false).values();
+            if (prefixed.size() > MERGE_THRESHOLD) {
+                return List.of(Postings.union(prefixed));
+            }
+            return new ArrayList<>(prefixed);
+        }
+
+        /**
+         * Maior id menor ou igual a bound presente em todas as palavras (-1 se não houver)
+         * Cada palavra da consulta pode casar com qualquer uma das suas alternativas
+         */
+        private static long seek(List<List<Postings>> required, long bound) {
+            long candidate = bound;
+            while (true) {
+                boolean agreed = true;
+                for (List<Postings> alternatives : required) {
+                    long found = -1;
+                    for (Postings postings : alternatives) {
+                        found = Math.max(found, postings.floor(candidate));
+                    }
+                    if (found < 0) {
+                        return -1;
+                    }
+                    if (found < candidate) {
+                        candidate = found;
+                        agreed = false;
+                    }
+                }
+                if (agreed) {
+                    return candidate;
+                }
+            }
+        }
+    }
+
+    /**
+     * Ids de uma palavra em ordem crescente (novos ids costumam ir para o fim)
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[2];
+        private int size;
+
+        boolean add(long id) {
+            if (size > 0 && ids[size - 1] < id) {
+                append(id);
+                return true;
+            }
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return false;
+            }
+            int insertion = -position - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+            ids[insertion] = id;
+            size++;
+            return true;
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        /**
+         * Maior id menor ou igual a bound (-1 se não houver)
+         */
+        long floor(long bound) {
+            if (size == 0 || ids[0] > bound) {
+                return -1;
+            }
+            if (ids[size - 1] <= bound) {
+                return ids[size - 1];
+            }
+            int position = Arrays.binarySearch(ids, 0, size, bound);
+            return position >= 0 ? ids[position] : ids[-position - 2];
+        }
+
+        /**
+         * Lista com os ids informados, já em ordem crescente e sem repetições
+         */
+        static Postings of(long[] ids) {
+            Postings postings = new Postings();
+            postings.ids = ids.length > 0 ? ids : new long[2];
+            postings.size = ids.length;
+            return postings;
+        }
+
+        static Postings union(Collection<Postings> lists) {
+            int total = 0;
+            for (Postings postings : lists) {
+                total += postings.size;
+            }
+            long[] all = new long[total];
+            int offset = 0;
+            for (Postings postings : lists) {
+                System.arraycopy(postings.ids, 0, all, offset, postings.size);
+                offset += postings.size;
+            }
+            Arrays.sort(all);
+
+            Postings merged = new Postings();
+            merged.ids = all;
+            for (long id : all) {
+                if (merged.size == 0 || all[merged.size - 1] != id) {
+                    all[merged.size++] = id;
+                }
+            }
+            return merged;
+        }
+
+        private void append(long id) {
+            ensureCapacity();
+            ids[size++] = id;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+        }
+    }
+}
@@ -2,18 +2,24 @@ package com.financasplus.service;
 
 import com.financasplus.model.Transaction;
 import com.financasplus.model.User;
+import com.financasplus.repository.CategoryTotal;
 import com.financasplus.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
 import java.util.LinkedHashMap;
-import com.financasplus.model.Category;
 
 /**
  * Service para gerenciar operações de Transaction
@@ -21,11 +27,21 @@ import com.financasplus.model.Category;
  */
 @Service
 @Transactional
+@Timed(value = "financas.service", histogram = true)
 public class TransactionService {
 
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private List<TransactionChangeListener> changeListeners;
+
+    @Autowired
+    private TransactionSearchIndex searchIndex;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
      * Busca todas as transações de um usuário
      */
@@ -33,6 +49,65 @@ public class TransactionService {
         return transactionRepository.findByUserOrderByDateDesc(user);
     }
 
+    /**
+     * Busca as N transações mais recentes de um usuário
+     */
+    public List<Transaction> findRecentByUser(User user, int limit) {
+        TransactionCursor first = TransactionCursor.FIRST;
+        return transactionRepository.findOlderThan(user, first.date(), first.id(), Limit.of(limit));
+    }
+
+    /**
+     * Busca uma página de transações de um usuário por paginação por chave
+     * after: cursor a partir do qual seguir para as transações mais antigas
+     * before: cursor a partir do qual voltar para as transações mais recentes
+     * Sem cursor, retorna a primeira página
+     */
+    public TransactionPage findPage(User user, String after, String before, int size) {
+        if (before != null && !before.isEmpty()) {
+            TransactionCursor cursor = TransactionCursor.decode(before);
+            List<Transaction> rows = new ArrayList<>(
+                    transactionRepository.findNewerThan(user, cursor.date(), cursor.id(), Limit.of(size + 1)));
+            boolean hasMore = rows.size() > size;
+            if (hasMore) {
+                rows.remove(size);
+            }
+            Collections.reverse(rows);
+            String previous = hasMore ? TransactionCursor.of(rows.get(0)).encode() : null;
+            String next = rows.isEmpty() ? null : TransactionCursor.of(rows.get(rows.size() - 1)).encode();
+            return new TransactionPage(rows, next, previous);
+        }
+
+        boolean firstPage = after == null || after.isEmpty();
+        TransactionCursor cursor = firstPage ? TransactionCursor.FIRST : TransactionCursor.decode(after);
+        List<Transaction> rows = new ArrayList<>(
+                transactionRepository.findOlderThan(user, cursor.date(), cursor.id(), Limit.of(size + 1)));
+        String previous = firstPage || rows.isEmpty() ? null : TransactionCursor.of(rows.get(0)).encode();
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows.remove(size);
+        }
+        String next = hasMore ? TransactionCursor.of(rows.get(rows.size() - 1)).encode() : null;
+        return new TransactionPage(rows, next, previous);
+    }
+
+    /**
+     * Busca transações do usuário pela descrição (cada palavra como prefixo, sem diferenciar acentos)
+     * Paginado por id, da transação mais nova para a mais antiga; after é o id da última da página anterior
+     */
+    @Transactional(readOnly = true)
+    public TransactionPage search(User user, String query, String after, int size) {
+        Long afterId = after == null || after.isEmpty() ? null : Long.valueOf(after);
+        List<Long> ids = searchIndex.search(user.getId(), query, afterId, size + 1);
+        boolean hasMore = ids.size() > size;
+        if (hasMore) {
+            ids = ids.subList(0, size);
+        }
+        List<Transaction> rows = ids.isEmpty() ? List.of() : transactionRepository.findByUserAndIds(user, ids);
+        String next = hasMore ? String.valueOf(ids.get(ids.size() - 1)) : null;
+        return new TransactionPage(rows, next, null);
+    }
+
     /**
      * Busca uma transação pelo ID
      */
@@ -65,10 +140,33 @@ public class TransactionService {
      * Cria uma nova transação
      */
     public Transaction createTransaction(Transaction transaction) {
-        if (transaction.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("O valor da transação deve ser maior que zero!");
+        transaction.setAmount(Money.validAmount(transaction.getAmount()));
+        TransactionDates.validDate(transaction.getDate());
+        Transaction saved = transactionRepository.save(transaction);
+        notifyChange(null, TransactionSnapshot.of(saved));
+        return saved;
+    }
+
+    /**
+     * Cria um lote de transações com inserções agrupadas (JDBC batching)
+     * Os dados derivados recebem o lote inteiro de uma vez e o contexto de
+     * persistência é limpo ao final para não acumular entidades gerenciadas
+     */
+    public int createTransactions(List<Transaction> transactions) {
+        List<TransactionSnapshot> created = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            transaction.setAmount(Money.validAmount(transaction.getAmount()));
+            TransactionDates.validDate(transaction.getDate());
+            entityManager.persist(transaction);
+            created.add(TransactionSnapshot.of(transaction));
         }
-        return transactionRepository.save(transaction);
+        entityManager.flush();
+        entityManager.clear();
+
+        for (TransactionChangeListener listener : changeListeners) {
+            listener.onTransactionsCreated(created);
+        }
+        return created.size();
     }
 
     /**
@@ -77,18 +175,16 @@ public class TransactionService {
     public Transaction updateTransaction(Long id, Transaction transactionDetails) {
         Transaction transaction = transactionRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Transação não encontrada!"));
+        TransactionSnapshot before = TransactionSnapshot.of(transaction);
 
         if (transactionDetails.getDescription() != null) {
             transaction.setDescription(transactionDetails.getDescription());
         }
         if (transactionDetails.getAmount() != null) {
-            if (transactionDetails.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
-                throw new IllegalArgumentException("O valor da transação deve ser maior que zero!");
-            }
-            transaction.setAmount(transactionDetails.getAmount());
+            transaction.setAmount(Money.validAmount(transactionDetails.getAmount()));
         }
         if (transactionDetails.getDate() != null) {
-            transaction.setDate(transactionDetails.getDate());
+            transaction.setDate(TransactionDates.validDate(transactionDetails.getDate()));
         }
         if (transactionDetails.getCategory() != null) {
             transaction.setCategory(transactionDetails.getCategory());
@@ -97,14 +193,29 @@ public class TransactionService {
             transaction.setType(transactionDetails.getType());
         }
 
-        return transactionRepository.save(transaction);
+        Transaction saved = transactionRepository.save(transaction);
+        notifyChange(before, TransactionSnapshot.of(saved));
+        return saved;
     }
 
     /**
      * Deleta uma transação
      */
     public void deleteTransaction(Long id) {
-        transactionRepository.deleteById(id);
+        transactionRepository.findById(id).ifPresent(transaction -> {
+            TransactionSnapshot before = TransactionSnapshot.of(transaction);
+            transactionRepository.delete(transaction);
+            notifyChange(before, null);
+        });
+    }
+
+    /**
+     * Repassa a alteração para os dados derivados (ledger, agregados)
+     */
+    private void notifyChange(TransactionSnapshot before, TransactionSnapshot after) {
+        for (TransactionChangeListener listener : changeListeners) {
+            listener.onTransactionChanged(before, after);
+        }
     }
 
     /**
@@ -144,22 +255,32 @@ public class TransactionService {
         return transactionRepository.calculateExpensesByPeriod(user, startDate, endDate);
     }
 
+    /**
+     * Soma as transações de um usuário por categoria e tipo (agrupado no banco)
+     * Os limites de data são opcionais
+     */
+    public List<CategoryTotal> sumByCategory(User user, LocalDateTime startDate, LocalDateTime endDate) {
+        return transactionRepository.sumByCategory(user, startDate, endDate);
+    }
+
     /**
      * Calcula o total de despesas por categoria de um usuário
      */
     public Map<String, BigDecimal> calculateExpensesByCategory(User user) {
+        return calculateExpensesByCategory(user, null, null);
+    }
+
+    /**
+     * Calcula o total de despesas por categoria de um usuário em um período opcional
+     */
+    public Map<String, BigDecimal> calculateExpensesByCategory(User user, LocalDateTime startDate, LocalDateTime endDate) {
         Map<String, BigDecimal> expensesByCategory = new LinkedHashMap<>();
-        List<Transaction> transactions = findByUser(user);
-        
-        for (Transaction transaction : transactions) {
+        for (CategoryTotal total : sumByCategory(user, startDate, endDate)) {
             // Apenas contar despesas
-            if (transaction.getType() == Transaction.TransactionType.DESPESA) {
-                String categoryName = transaction.getCategory().getName();
-                BigDecimal currentAmount = expensesByCategory.getOrDefault(categoryName, BigDecimal.ZERO);
-                expensesByCategory.put(categoryName, currentAmount.add(transaction.getAmount()));
+            if (total.type() == Transaction.TransactionType.DESPESA) {
+                expensesByCategory.put(total.categoryName(), total.total());
             }
         }
-        
         return expensesByCategory;
     }
 }
@@ -0,0 +1,34 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Cópia imutável dos campos de uma transação em um determinado momento
+ * Usada para informar o estado anterior e o novo estado aos dados derivados
+ */
+public record TransactionSnapshot(
+        Long id,
+        Long userId,
+        Long categoryId,
+        Transaction.TransactionType type,
+        BigDecimal amount,
+        LocalDateTime date,
+        String description) {
+
+    /**
+     * Cria o snapshot a partir da entidade (sem inicializar as associações LAZY)
+     */
+    public static TransactionSnapshot of(Transaction transaction) {
+        return new TransactionSnapshot(
+                transaction.getId(),
+                transaction.getUser().getId(),
+                transaction.getCategory().getId(),
+                transaction.getType(),
+                transaction.getAmount(),
+                transaction.getDate(),
+                transaction.getDescription());
+    }
+}
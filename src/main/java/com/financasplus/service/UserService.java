@@ -1,12 +1,20 @@
 package com.financasplus.service;
 
+import com.financasplus.model.CacheInvalidation;
 import com.financasplus.model.User;
 import com.financasplus.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -15,11 +23,42 @@ import java.util.Optional;
  */
 @Service
 @Transactional
+@Timed(value = "financas.service", histogram = true)
 public class UserService {
 
+    /**
+     * Quantidade máxima de usuários mantidos no cache de principais
+     */
+    private static final int PRINCIPAL_CACHE_SIZE = 1000;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private TransactionColumnStore transactionColumnStore;
+
+    @Autowired
+    private TransactionSearchIndex transactionSearchIndex;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    /**
+     * Cache LRU id → principal, para validar a sessão sem consultar o banco a cada requisição
+     */
+    private final Map<Long, SessionUser> principals = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, SessionUser> eldest) {
+            return size() > PRINCIPAL_CACHE_SIZE;
+        }
+    };
+
     /**
      * Busca todos os usuários
      */
@@ -34,6 +73,36 @@ public class UserService {
         return userRepository.findById(id);
     }
 
+    /**
+     * Referência ao usuário pelo ID, sem consultar o banco
+     * Suficiente para filtros de consultas e associações de novas transações
+     */
+    public User getReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
+    /**
+     * Busca o principal atual do usuário, pelo cache ou pelo banco se ainda não estiver nele
+     * Retorna vazio se o usuário não existir mais
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<SessionUser> findPrincipal(Long id) {
+        synchronized (principals) {
+            SessionUser cached = principals.get(id);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+
+        Optional<SessionUser> principal = userRepository.findById(id).map(SessionUser::of);
+        principal.ifPresent(user -> {
+            synchronized (principals) {
+                principals.put(id, user);
+            }
+        });
+        return principal;
+    }
+
     /**
      * Busca um usuário pelo username
      */
@@ -59,7 +128,9 @@ public class UserService {
         if (userRepository.existsByEmail(user.getEmail())) {
             throw new IllegalArgumentException("Email já existe!");
         }
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        ledgerService.createLedger(saved.getId());
+        return saved;
     }
 
     /**
@@ -79,7 +150,10 @@ public class UserService {
             user.setEmail(userDetails.getEmail());
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        evictPrincipal(id);
+        invalidationBus.userChanged(id);
+        return saved;
     }
 
     /**
@@ -87,6 +161,44 @@ public class UserService {
      */
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        ledgerService.deleteLedger(id);
+        rollupService.deleteRollups(id);
+        transactionColumnStore.evict(id);
+        transactionSearchIndex.removeUser(id);
+        evictPrincipal(id);
+        invalidationBus.userDeleted(id);
+    }
+
+    /**
+     * Descarta o principal alterado ou excluído em outra instância (InvalidationBus)
+     * As colunas e o índice de busca do usuário excluído são descartados por seus próprios donos
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onDataInvalidated(DataInvalidatedEvent event) {
+        if (event.topic() == CacheInvalidation.Topic.USER || event.topic() == CacheInvalidation.Topic.USER_DELETED) {
+            evictPrincipal(event.userId());
+        }
+    }
+
+    /**
+     * Remove o principal do cache agora e novamente após o commit, para que uma leitura
+     * concorrente não deixe no cache o estado anterior à alteração
+     */
+    private void evictPrincipal(Long id) {
+        synchronized (principals) {
+            principals.remove(id);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    synchronized (principals) {
+                        principals.remove(id);
+                    }
+                }
+            });
+        }
     }
 
     /**
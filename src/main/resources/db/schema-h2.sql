@@ -0,0 +1,82 @@
+-- Esquema do banco em arquivo (perfil file), equivalente ao gerado pelo Hibernate a partir das entidades
+-- Executado a cada inicialização: só cria o que ainda não existe; o Hibernate valida o resultado
+
+CREATE SEQUENCE IF NOT EXISTS transactions_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    full_name VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    version BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS categories (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    description TEXT,
+    color VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    type VARCHAR(255) NOT NULL CHECK (type IN ('RECEITA', 'DESPESA')),
+    amount NUMERIC(10, 2) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    date TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users,
+    CONSTRAINT fk_transactions_category FOREIGN KEY (category_id) REFERENCES categories
+);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_date ON transactions (user_id, date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_transactions_user_type_date ON transactions (user_id, type, date);
+CREATE INDEX IF NOT EXISTS idx_transactions_user_category_date ON transactions (user_id, category_id, date);
+CREATE INDEX IF NOT EXISTS idx_transactions_updated_at ON transactions (updated_at);
+
+CREATE TABLE IF NOT EXISTS user_ledgers (
+    user_id BIGINT NOT NULL,
+    total_income NUMERIC(19, 2) NOT NULL,
+    total_expenses NUMERIC(19, 2) NOT NULL,
+    balance NUMERIC(19, 2) NOT NULL,
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS monthly_rollups (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id BIGINT NOT NULL,
+    reference_month VARCHAR(7) NOT NULL,
+    category_id BIGINT NOT NULL,
+    type VARCHAR(255) NOT NULL CHECK (type IN ('RECEITA', 'DESPESA')),
+    total NUMERIC(19, 2) DEFAULT 0 NOT NULL,
+    transaction_count BIGINT DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_monthly_rollups_key UNIQUE (user_id, reference_month, category_id, type)
+);
+
+-- Bancos criados antes dos valores padrão (a linha é criada zerada por MERGE e depois somada)
+ALTER TABLE monthly_rollups ALTER COLUMN total SET DEFAULT 0;
+ALTER TABLE monthly_rollups ALTER COLUMN transaction_count SET DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS cache_invalidations (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    node_id VARCHAR(64) NOT NULL,
+    topic VARCHAR(20) NOT NULL CHECK (topic IN ('CATEGORIES', 'USER', 'USER_DELETED', 'TRANSACTIONS')),
+    user_id BIGINT,
+    months VARCHAR(1000),
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_cache_invalidations_created_at ON cache_invalidations (created_at);
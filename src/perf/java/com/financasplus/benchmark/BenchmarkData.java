@@ -0,0 +1,83 @@
+package com.financasplus.benchmark;
+
+import com.financasplus.model.Category;
+import com.financasplus.model.Transaction;
+import com.financasplus.model.User;
+import com.financasplus.service.CategoryRegistry;
+import com.financasplus.service.LedgerService;
+import com.financasplus.service.RollupService;
+import com.financasplus.service.UserService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Gera a massa de dados dos benchmarks: um usuário com N transações
+ * distribuídas em três anos, inseridas em lotes via JDBC
+ */
+final class BenchmarkData {
+
+    /**
+     * Último dia com transações geradas (fixo para que as execuções sejam comparáveis)
+     */
+    static final LocalDate END_DATE = LocalDate.of(2025, 12, 31);
+
+    private static final int DAYS = 3 * 365;
+    private static final int BATCH_SIZE = 5_000;
+    private static final String INSERT_SQL = "INSERT INTO transactions "
+            + "(id, user_id, category_id, type, description, amount, date, created_at, updated_at) "
+            + "VALUES (NEXT VALUE FOR transactions_seq, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Cria o usuário de benchmark com a quantidade informada de transações
+     * e reconstrói os dados derivados (ledger e totais mensais)
+     */
+    static User seed(ApplicationContext context, int transactions) {
+        User user = context.getBean(UserService.class)
+                .createUser(new User("benchmark", "benchmark", "benchmark@financasplus.com", "Benchmark"));
+        List<Category> categories = context.getBean(CategoryRegistry.class).findAll();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < transactions; i++) {
+            boolean income = random.nextInt(10) < 3;
+            Category category = categories.get(random.nextInt(categories.size()));
+            BigDecimal amount = BigDecimal.valueOf(100 + random.nextInt(100_000), 2);
+            LocalDateTime date = END_DATE.minusDays(random.nextInt(DAYS)).atStartOfDay();
+
+            batch.add(new Object[]{
+                    user.getId(),
+                    category.getId(),
+                    (income ? Transaction.TransactionType.RECEITA : Transaction.TransactionType.DESPESA).name(),
+                    (income ? "Receita " : "Despesa ") + i,
+                    amount,
+                    Timestamp.valueOf(date),
+                    now,
+                    now
+            });
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+
+        context.getBean(LedgerService.class).rebuild(user);
+        context.getBean(RollupService.class).rebuild(user);
+        return user;
+    }
+}
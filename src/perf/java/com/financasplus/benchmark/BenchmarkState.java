@@ -0,0 +1,60 @@
+package com.financasplus.benchmark;
+
+import com.financasplus.FinancasPlusApplication;
+import com.financasplus.model.User;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Estado compartilhado pelos benchmarks: contexto Spring sem servidor web,
+ * banco H2 em memória e um usuário com a quantidade de transações do parâmetro
+ */
+@State(Scope.Benchmark)
+public class BenchmarkState {
+
+    @Param({"1000", "100000", "1000000"})
+    public int transactions;
+
+    ConfigurableApplicationContext context;
+    User user;
+    YearMonth reportMonth;
+    LocalDateTime monthStart;
+    LocalDateTime monthEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(FinancasPlusApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "logging.level.root=WARN",
+                        "logging.level.com.financasplus=WARN")
+                .run();
+
+        user = BenchmarkData.seed(context, transactions);
+        reportMonth = YearMonth.from(BenchmarkData.END_DATE).minusMonths(6);
+        monthStart = reportMonth.atDay(1).atStartOfDay();
+        monthEnd = reportMonth.atEndOfMonth().atTime(23, 59, 59);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
@@ -0,0 +1,55 @@
+package com.financasplus.benchmark;
+
+import com.financasplus.model.Transaction;
+import com.financasplus.model.UserLedger;
+import com.financasplus.service.DashboardData;
+import com.financasplus.service.DashboardService;
+import com.financasplus.service.LedgerService;
+import com.financasplus.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência do carregamento do dashboard com várias requisições simultâneas
+ * sequential repete as três consultas em sequência (como antes do paralelismo);
+ * parallel usa o DashboardService. O modo SampleTime reporta os percentis (p99)
+ * Para variar a concorrência: -Djmh.args="-t 32 ..."
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DashboardBenchmark {
+
+    private static final int RECENT_TRANSACTIONS = 5;
+
+    @Benchmark
+    public void sequential(BenchmarkState state, Blackhole blackhole) {
+        UserLedger ledger = state.bean(LedgerService.class).getLedger(state.user);
+        TransactionService transactionService = state.bean(TransactionService.class);
+        Map<String, BigDecimal> expensesByCategory = transactionService.calculateExpensesByCategory(state.user);
+        List<Transaction> recent = transactionService.findRecentByUser(state.user, RECENT_TRANSACTIONS);
+        blackhole.consume(ledger);
+        blackhole.consume(expensesByCategory);
+        blackhole.consume(recent);
+    }
+
+    @Benchmark
+    public DashboardData parallel(BenchmarkState state) {
+        return state.bean(DashboardService.class).load(state.user, RECENT_TRANSACTIONS);
+    }
+}
@@ -0,0 +1,90 @@
+package com.financasplus.benchmark;
+
+import com.financasplus.service.CentsAccumulator;
+import com.financasplus.service.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agregação em memória por categoria: BigDecimal em um HashMap (como era feito)
+ * contra centavos em um CentsAccumulator. Rodar com -prof gc para comparar a alocação (B/op)
+ * Não usa o contexto Spring: mede só a aritmética sobre valores já carregados
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class MoneyBenchmark {
+
+    private static final String[] CATEGORIES = {
+            "Alimentação", "Transporte", "Lazer", "Contas Fixas", "Saúde", "Educação", "Outros"};
+
+    @Param({"1000", "100000", "1000000"})
+    public int transactions;
+
+    private BigDecimal[] amounts;
+    private long[] cents;
+    private int[] categories;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        amounts = new BigDecimal[transactions];
+        cents = new long[transactions];
+        categories = new int[transactions];
+        for (int i = 0; i < transactions; i++) {
+            cents[i] = 100 + random.nextInt(500_000);
+            amounts[i] = Money.fromCents(cents[i]);
+            categories[i] = random.nextInt(CATEGORIES.length);
+        }
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> bigDecimalByCategory() {
+        Map<String, BigDecimal> totals = new HashMap<>();
+        for (int i = 0; i < transactions; i++) {
+            String category = CATEGORIES[categories[i]];
+            totals.put(category, totals.getOrDefault(category, BigDecimal.ZERO).add(amounts[i]));
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public CentsAccumulator centsByCategory() {
+        CentsAccumulator totals = new CentsAccumulator(CATEGORIES.length);
+        for (int i = 0; i < transactions; i++) {
+            totals.add(categories[i], cents[i]);
+        }
+        return totals;
+    }
+
+    /**
+     * Inclui a conversão BigDecimal -> centavos na entrada, como nos lotes de importação
+     */
+    @Benchmark
+    public CentsAccumulator convertedByCategory() {
+        CentsAccumulator totals = new CentsAccumulator(CATEGORIES.length);
+        for (int i = 0; i < transactions; i++) {
+            totals.add(categories[i], Money.toCents(amounts[i]));
+        }
+        return totals;
+    }
+}
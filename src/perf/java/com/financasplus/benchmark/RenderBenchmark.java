@@ -0,0 +1,97 @@
+package com.financasplus.benchmark;
+
+import com.financasplus.FinancasPlusApplication;
+import com.financasplus.service.SessionUser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Tempo de resposta das páginas renderizadas (dashboard e relatório mensal) pelo Spring MVC
+ * profile=default: templates analisados a cada requisição e sem cache de fragmentos;
+ * profile=prod: cache de templates e de fragmentos renderizados
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RenderBenchmark {
+
+    @Benchmark
+    public String dashboard(RenderState state) throws Exception {
+        return state.mockMvc.perform(get("/dashboard").session(state.session))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    @Benchmark
+    public String reports(RenderState state) throws Exception {
+        return state.mockMvc.perform(get("/reports").param("month", state.reportMonth).session(state.session))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    /**
+     * Contexto web completo (MockMvc) com o perfil do parâmetro e um usuário autenticado na sessão
+     */
+    @State(Scope.Benchmark)
+    public static class RenderState {
+
+        @Param({"default", "prod"})
+        public String profile;
+
+        @Param({"10000", "100000"})
+        public int transactions;
+
+        ConfigurableApplicationContext context;
+        MockMvc mockMvc;
+        MockHttpSession session;
+        String reportMonth;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            context = new SpringApplicationBuilder(FinancasPlusApplication.class)
+                    .web(WebApplicationType.SERVLET)
+                    .profiles(profile)
+                    .properties(
+                            "spring.main.banner-mode=off",
+                            "server.port=0",
+                            "spring.datasource.url=jdbc:h2:mem:render;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                            "logging.level.root=WARN",
+                            "logging.level.com.financasplus=WARN")
+                    .run();
+            mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+
+            session = new MockHttpSession();
+            session.setAttribute("user", SessionUser.of(BenchmarkData.seed(context, transactions)));
+            reportMonth = YearMonth.from(BenchmarkData.END_DATE).minusMonths(6).toString();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+}
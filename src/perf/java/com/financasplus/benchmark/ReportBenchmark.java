@@ -0,0 +1,64 @@
+package com.financasplus.benchmark;
+
+import com.financasplus.repository.CategoryTotal;
+import com.financasplus.service.MonthlyReport;
+import com.financasplus.service.PeriodSummary;
+import com.financasplus.service.ReportService;
+import com.financasplus.service.RollupService;
+import com.financasplus.service.TransactionColumnStore;
+import com.financasplus.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks da montagem do relatório mensal (o que a página /reports executa)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReportBenchmark {
+
+    @Benchmark
+    public MonthlyReport buildMonthlyReport(BenchmarkState state) {
+        return state.bean(ReportService.class).buildMonthlyReport(state.user, state.reportMonth);
+    }
+
+    @Benchmark
+    public List<CategoryTotal> monthlyCategoryTotals(BenchmarkState state) {
+        return state.bean(RollupService.class).findCategoryTotals(state.user, state.reportMonth);
+    }
+
+    @Benchmark
+    public PeriodSummary columnarMonthSummary(BenchmarkState state) {
+        return state.bean(TransactionColumnStore.class).summarize(
+                state.user.getId(), state.reportMonth.atDay(1), state.reportMonth.atEndOfMonth());
+    }
+
+    /**
+     * Despesas por categoria de todo o histórico (dashboard): GROUP BY no banco
+     */
+    @Benchmark
+    public Map<String, BigDecimal> expensesByCategoryQuery(BenchmarkState state) {
+        return state.bean(TransactionService.class).calculateExpensesByCategory(state.user);
+    }
+
+    /**
+     * Despesas por categoria de todo o histórico (dashboard): varredura das colunas em memória
+     */
+    @Benchmark
+    public Map<String, BigDecimal> expensesByCategoryColumns(BenchmarkState state) {
+        return state.bean(TransactionColumnStore.class).summarize(state.user.getId(), null, null).expensesByCategory();
+    }
+}
@@ -0,0 +1,69 @@
+package com.financasplus.benchmark;
+
+import com.financasplus.model.Transaction;
+import com.financasplus.repository.CategoryTotal;
+import com.financasplus.repository.TransactionRepository;
+import com.financasplus.service.TransactionCursor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks das consultas do TransactionRepository
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RepositoryBenchmark {
+
+    @Benchmark
+    public List<Transaction> findOlderThan(BenchmarkState state) {
+        TransactionCursor first = TransactionCursor.FIRST;
+        return state.bean(TransactionRepository.class)
+                .findOlderThan(state.user, first.date(), first.id(), Limit.of(21));
+    }
+
+    @Benchmark
+    public List<Transaction> findByUserAndDateRange(BenchmarkState state) {
+        return state.bean(TransactionRepository.class)
+                .findByUserAndDateRange(state.user, state.monthStart, state.monthEnd);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalExpenses(BenchmarkState state) {
+        return state.bean(TransactionRepository.class).calculateTotalExpenses(state.user);
+    }
+
+    @Benchmark
+    public BigDecimal calculateIncomeByPeriod(BenchmarkState state) {
+        return state.bean(TransactionRepository.class)
+                .calculateIncomeByPeriod(state.user, state.monthStart, state.monthEnd);
+    }
+
+    @Benchmark
+    public List<CategoryTotal> sumByCategory(BenchmarkState state) {
+        return state.bean(TransactionRepository.class).sumByCategory(state.user, null, null);
+    }
+
+    @Benchmark
+    public List<CategoryTotal> sumByCategoryInMonth(BenchmarkState state) {
+        return state.bean(TransactionRepository.class)
+                .sumByCategory(state.user, state.monthStart, state.monthEnd);
+    }
+
+    @Benchmark
+    public List<Object[]> summarizeByMonth(BenchmarkState state) {
+        return state.bean(TransactionRepository.class).summarizeByMonth(state.user);
+    }
+}
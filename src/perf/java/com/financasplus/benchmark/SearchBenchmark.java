@@ -0,0 +1,70 @@
+package com.financasplus.benchmark;
+
+import com.financasplus.service.TransactionSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca pela descrição: índice invertido em memória contra LIKE '%x%' no banco
+ * Cada operação busca a primeira página (21 ids, como a listagem) para a consulta do parâmetro
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SearchBenchmark {
+
+    private static final int PAGE = 21;
+
+    @State(Scope.Benchmark)
+    public static class Query {
+
+        /**
+         * Palavra frequente, palavra + número (interseção) e prefixo que casa com muitos números
+         */
+        @Param({"despesa", "receita 4242", "despesa 99"})
+        public String query;
+
+        @Setup(Level.Trial)
+        public void setUp(BenchmarkState state) {
+            state.bean(TransactionSearchIndex.class).rebuild();
+        }
+    }
+
+    @Benchmark
+    public List<Long> invertedIndex(BenchmarkState state, Query query) {
+        return state.bean(TransactionSearchIndex.class).search(state.user.getId(), query.query, null, PAGE);
+    }
+
+    @Benchmark
+    public List<Long> likeScan(BenchmarkState state, Query query) {
+        StringBuilder sql = new StringBuilder("SELECT id FROM transactions WHERE user_id = ?");
+        String[] words = query.query.split(" ");
+        for (int i = 0; i < words.length; i++) {
+            sql.append(" AND LOWER(description) LIKE ?");
+        }
+        sql.append(" ORDER BY id DESC LIMIT ").append(PAGE);
+
+        Object[] args = new Object[words.length + 1];
+        args[0] = state.user.getId();
+        for (int i = 0; i < words.length; i++) {
+            args[i + 1] = "%" + words[i] + "%";
+        }
+        return state.bean(JdbcTemplate.class).queryForList(sql.toString(), Long.class, args);
+    }
+}
@@ -0,0 +1,66 @@
+package com.financasplus.benchmark;
+
+import com.financasplus.model.Transaction;
+import com.financasplus.model.UserLedger;
+import com.financasplus.service.LedgerService;
+import com.financasplus.service.TransactionPage;
+import com.financasplus.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks dos métodos de agregação e listagem do TransactionService
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TransactionServiceBenchmark {
+
+    @Benchmark
+    public UserLedger ledgerTotals(BenchmarkState state) {
+        return state.bean(LedgerService.class).getLedger(state.user);
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalIncome(BenchmarkState state) {
+        return state.bean(TransactionService.class).calculateTotalIncome(state.user);
+    }
+
+    @Benchmark
+    public BigDecimal calculateBalance(BenchmarkState state) {
+        return state.bean(TransactionService.class).calculateBalance(state.user);
+    }
+
+    @Benchmark
+    public BigDecimal calculateExpensesByPeriod(BenchmarkState state) {
+        return state.bean(TransactionService.class)
+                .calculateExpensesByPeriod(state.user, state.monthStart, state.monthEnd);
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> calculateExpensesByCategory(BenchmarkState state) {
+        return state.bean(TransactionService.class).calculateExpensesByCategory(state.user);
+    }
+
+    @Benchmark
+    public List<Transaction> findRecentByUser(BenchmarkState state) {
+        return state.bean(TransactionService.class).findRecentByUser(state.user, 5);
+    }
+
+    @Benchmark
+    public TransactionPage findFirstPage(BenchmarkState state) {
+        return state.bean(TransactionService.class).findPage(state.user, null, null, 20);
+    }
+}
@@ -0,0 +1,125 @@
+package com.financasplus;
+
+import com.financasplus.model.Category;
+import com.financasplus.service.CategoryRegistry;
+import com.financasplus.service.CategoryService;
+import com.financasplus.service.InvalidationBus;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Duas instâncias com os perfis file e cluster no mesmo diretório de dados: a sessão vale nas duas
+ * e, depois de poll(), uma escrita em A aparece em B (ETag do dashboard, busca e categorias)
+ * A consulta periódica dos avisos fica desligada (intervalo longo) para o teste decidir quando B os lê
+ */
+class ClusterTest {
+
+    @TempDir
+    static Path dataDir;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    private final HttpClient client = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = start("a");
+        nodeB = start("b");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    @Test
+    void sessionIsSharedAndWritesOnOneNodeReachTheOther() throws Exception {
+        send(post(nodeA, "/register", Map.of("username", "cluster", "email", "cluster@financasplus.com",
+                "password", "cluster", "fullName", "Teste Cluster")));
+        send(post(nodeA, "/login", Map.of("username", "cluster", "password", "cluster")));
+
+        // Login feito em A, página lida em B
+        assertEquals(200, send(get(nodeB, "/dashboard")).statusCode());
+
+        String etagBefore = send(get(nodeB, "/dashboard/data")).headers().firstValue("ETag").orElseThrow();
+        assertFalse(send(get(nodeB, "/api/v1/transactions?q=maracuja")).body().contains("Feira de maracujá"));
+
+        HttpResponse<String> added = send(post(nodeA, "/transactions/add", Map.of("description", "Feira de maracujá",
+                "amount", "12.50", "categoryId", "1", "type", "DESPESA", "date", LocalDate.now().toString())));
+        assertEquals(302, added.statusCode());
+        nodeA.getBean(CategoryService.class).createCategory(new Category("Pets", "Ração e veterinário", "#8B4513"));
+
+        // Antes de ler os avisos, B ainda responde com o estado em memória anterior
+        assertEquals(etagBefore, send(get(nodeB, "/dashboard/data")).headers().firstValue("ETag").orElseThrow());
+        assertFalse(send(get(nodeB, "/api/v1/transactions?q=maracuja")).body().contains("Feira de maracujá"));
+        assertFalse(nodeB.getBean(CategoryRegistry.class).findByName("Pets").isPresent());
+
+        nodeB.getBean(InvalidationBus.class).poll();
+
+        String etagAfter = send(get(nodeB, "/dashboard/data")).headers().firstValue("ETag").orElseThrow();
+        assertNotEquals(etagBefore, etagAfter);
+        assertTrue(send(get(nodeB, "/api/v1/transactions?q=maracuja")).body().contains("Feira de maracujá"));
+        assertTrue(nodeB.getBean(CategoryRegistry.class).findByName("Pets").isPresent());
+    }
+
+    private static ConfigurableApplicationContext start(String node) {
+        return new SpringApplicationBuilder(FinancasPlusApplication.class)
+                .profiles("file", "cluster")
+                .run("--financas.data-dir=" + dataDir,
+                        "--server.port=0",
+                        "--financas.cluster.node-id=" + node,
+                        "--financas.cluster.poll-interval=PT1H",
+                        "--financas.snapshot.enabled=false");
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest get(ConfigurableApplicationContext node, String path) {
+        return HttpRequest.newBuilder(uri(node, path)).GET().build();
+    }
+
+    private static HttpRequest post(ConfigurableApplicationContext node, String path, Map<String, String> form) {
+        String body = form.entrySet().stream()
+                .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        return HttpRequest.newBuilder(uri(node, path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static URI uri(ConfigurableApplicationContext node, String path) {
+        int port = ((WebServerApplicationContext) node).getWebServer().getPort();
+        return URI.create("http://localhost:" + port + path);
+    }
+}
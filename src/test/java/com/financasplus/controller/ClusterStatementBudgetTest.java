@@ -0,0 +1,12 @@
+package com.financasplus.controller;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Orçamentos de comandos SQL com financas.cluster.enabled: cada escrita grava também o aviso
+ * de invalidação para as outras instâncias
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.datasource.url=jdbc:h2:mem:statementbudgetcluster", "financas.cluster.enabled=true"})
+class ClusterStatementBudgetTest extends StatementBudgetTest {
+}
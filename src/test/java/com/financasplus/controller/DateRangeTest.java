@@ -0,0 +1,67 @@
+package com.financasplus.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Datas fora do intervalo aceito (TransactionDates) viram 400 no relatório por período e erro no formulário,
+ * em vez de estourar a conversão para dias (epochDay em int) com erro 500
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:daterange")
+class DateRangeTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+
+    @Test
+    void datesOutsideTheSupportedRangeAreRejected() throws Exception {
+        send(post("/register", Map.of("username", "datas", "email", "datas@financasplus.com",
+                "password", "datas", "fullName", "Teste Datas")));
+        send(post("/login", Map.of("username", "datas", "password", "datas")));
+
+        assertEquals(400, send(get("/reports/range?granularity=yearly&from=%2B10000000-01-01&to=%2B10000001-01-01"))
+                .statusCode());
+        assertEquals(400, send(get("/reports/range?granularity=daily&from=0001-01-01&to=0001-01-31")).statusCode());
+        assertEquals(200, send(get("/reports/range?granularity=daily&from=2024-01-01&to=2024-01-31")).statusCode());
+
+        HttpResponse<String> added = send(post("/transactions/add", Map.of("description", "Data distante",
+                "amount", "12.50", "categoryId", "1", "type", "DESPESA", "date", "+10000000-01-01")));
+        assertEquals(200, added.statusCode());
+        assertTrue(added.body().contains("31/12/2099"));
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, Map<String, String> form) {
+        String body = form.entrySet().stream()
+                .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
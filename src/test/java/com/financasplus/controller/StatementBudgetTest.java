@@ -0,0 +1,181 @@
+package com.financasplus.controller;
+
+import com.financasplus.config.StatementBudgetInterceptor;
+import com.financasplus.model.Category;
+import com.financasplus.model.Transaction;
+import com.financasplus.model.User;
+import com.financasplus.service.CategoryService;
+import com.financasplus.service.TransactionService;
+import com.financasplus.service.UserService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.math.BigDecimal;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Confere os orçamentos de comandos SQL (@StatementBudget) com um usuário de 10 mil transações:
+ * faz login pela porta HTTP, chama cada endpoint orçado duas vezes (caches frios e quentes),
+ * exclui uma transação e compara as contagens publicadas pelo StatementBudgetInterceptor com o orçamento
+ * (ClusterStatementBudgetTest repete a conferência com os avisos de invalidação do perfil cluster)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:statementbudget")
+class StatementBudgetTest {
+
+    private static final int TRANSACTIONS = 10_000;
+    private static final int SEED_BATCH = 1000;
+    private static final String USERNAME = "orcamento-sql";
+    private static final String PASSWORD = "orcamento-sql";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private StatementBudgetInterceptor budgetInterceptor;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Test
+    void budgetedEndpointsStayWithinTheirBudgets() throws Exception {
+        User user = seedUser();
+        Long transactionId = transactionService.findRecentByUser(user, 1).get(0).getId();
+
+        String base = "http://localhost:" + port;
+        HttpClient client = HttpClient.newBuilder().cookieHandler(new CookieManager()).build();
+        List<String> failures = new ArrayList<>();
+        send(client, post(base + "/login", Map.of("username", USERNAME, "password", PASSWORD)), failures);
+
+        String today = LocalDate.now().toString();
+        String categoryId = categoryService.findAll().get(0).getId().toString();
+        Map<String, String> form = Map.of("description", "Conferência do orçamento", "amount", "12.34",
+                "categoryId", categoryId, "type", "DESPESA", "date", today);
+        for (int round = 0; round < 2; round++) {
+            // Meses sem totais mensais: o caminho mais caro da gravação (linha nova em monthly_rollups)
+            Map<String, String> newMonth = Map.of("description", "Mês sem totais", "amount", "12.34",
+                    "categoryId", categoryId, "type", "DESPESA", "date", LocalDate.now().minusYears(5 + round).toString());
+            send(client, post(base + "/transactions/add", newMonth), failures);
+            Map<String, String> otherMonth = Map.of("description", "Mês sem totais", "amount", "12.34",
+                    "categoryId", categoryId, "type", "DESPESA", "date", LocalDate.now().minusYears(8 + round).toString());
+            send(client, post(base + "/transactions/edit/" + transactionId, otherMonth), failures);
+
+            send(client, get(base + "/dashboard"), failures);
+            send(client, get(base + "/dashboard/data"), failures);
+            send(client, get(base + "/transactions"), failures);
+            send(client, get(base + "/reports?month=" + YearMonth.now()), failures);
+            send(client, get(base + "/reports/range?granularity=monthly&from=" + LocalDate.now().minusYears(2)
+                    + "&to=" + today), failures);
+            send(client, get(base + "/api/v1/transactions"), failures);
+            send(client, get(base + "/transactions/add"), failures);
+            send(client, post(base + "/transactions/add", form), failures);
+            send(client, get(base + "/transactions/edit/" + transactionId), failures);
+            send(client, post(base + "/transactions/edit/" + transactionId, form), failures);
+        }
+        send(client, get(base + "/transactions/delete/" + transactionId), failures);
+        assertEquals(List.of(), failures);
+
+        Map<String, Integer> budgets = budgets();
+        for (Map.Entry<String, Integer> budget : budgets.entrySet()) {
+            DistributionSummary summary = meterRegistry.find("financas.request.statements")
+                    .tag("endpoint", budget.getKey()).summary();
+            assertTrue(summary != null && summary.count() > 0, budget.getKey() + " não foi chamado");
+            assertTrue(summary.max() <= budget.getValue(), budget.getKey() + " emitiu " + (long) summary.max()
+                    + " comandos SQL, acima do orçamento de " + budget.getValue());
+        }
+    }
+
+    /**
+     * Orçamento de cada endpoint anotado, com o mesmo nome usado pelo StatementBudgetInterceptor
+     */
+    private Map<String, Integer> budgets() {
+        Map<String, Integer> budgets = new HashMap<>();
+        for (HandlerMethod method : handlerMapping.getHandlerMethods().values()) {
+            StatementBudget budget = method.getMethodAnnotation(StatementBudget.class);
+            if (budget != null) {
+                budgets.put(method.getBeanType().getSimpleName() + "." + method.getMethod().getName(),
+                        budgetInterceptor.budget(budget));
+            }
+        }
+        return budgets;
+    }
+
+    private User seedUser() {
+        User user = userService.createUser(new User(USERNAME, PASSWORD, USERNAME + "@financasplus.local", "Orçamento SQL"));
+        List<Category> categories = categoryService.findAll();
+        Random random = new Random(42);
+        LocalDateTime start = LocalDate.now().minusYears(2).atStartOfDay();
+        List<Transaction> batch = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            Transaction.TransactionType type = random.nextInt(10) == 0
+                    ? Transaction.TransactionType.RECEITA : Transaction.TransactionType.DESPESA;
+            batch.add(new Transaction(user, categories.get(random.nextInt(categories.size())), type,
+                    "Transação " + i, BigDecimal.valueOf(100 + random.nextInt(100_000), 2),
+                    start.plusMinutes(random.nextInt(2 * 365 * 24 * 60))));
+            if (batch.size() == SEED_BATCH) {
+                transactionService.createTransactions(batch);
+                batch.clear();
+            }
+        }
+        return user;
+    }
+
+    private static void send(HttpClient client, HttpRequest request, List<String> failures) throws Exception {
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 400) {
+            failures.add(request.method() + " " + request.uri() + " respondeu " + response.statusCode());
+        }
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static HttpRequest post(String url, Map<String, String> form) {
+        String body = form.entrySet().stream()
+                .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,189 @@
+package com.financasplus.repository;
+
+import com.financasplus.model.Category;
+import com.financasplus.model.Transaction;
+import com.financasplus.model.User;
+import com.financasplus.service.CategoryService;
+import com.financasplus.service.StatementCounter;
+import com.financasplus.service.TransactionService;
+import com.financasplus.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Confere, via EXPLAIN do SQL gerado pelo Hibernate, se as consultas do TransactionRepository
+ * usam os índices compostos declarados em Transaction
+ * O SQL é capturado pelo StatementInspector: uma alteração na consulta ou no índice aparece aqui
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplans",
+        "financas.search.rebuild-on-startup=false"
+})
+@Import(QueryPlanTest.RecordingConfig.class)
+class QueryPlanTest {
+
+    private static final String USER_DATE = "IDX_TRANSACTIONS_USER_DATE";
+    private static final String USER_TYPE_DATE = "IDX_TRANSACTIONS_USER_TYPE_DATE";
+    private static final String USER_CATEGORY_DATE = "IDX_TRANSACTIONS_USER_CATEGORY_DATE";
+
+    /**
+     * Busca por um índice com user_id na primeira coluna (no plano do H2: "/* PUBLIC.INDICE: USER_ID = ?1")
+     */
+    private static final String USER_LOOKUP = "/\\* PUBLIC\\.\\w+: USER_ID = \\?1";
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 1, 31, 23, 59, 59);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private RecordingStatementCounter recorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void createUser() {
+        String username = "planos-" + UUID.randomUUID().toString().substring(0, 8);
+        user = userService.createUser(new User(username, "x", username + "@teste.local", "Teste Planos"));
+        category = categoryService.findAll().get(0);
+        for (int day = 1; day <= 5; day++) {
+            transactionService.createTransaction(new Transaction(user, category, Transaction.TransactionType.DESPESA,
+                    "Compra " + day, new BigDecimal("10.00"), START.plusDays(day)));
+        }
+    }
+
+    @Test
+    void findOlderThanReadsUserDateIndexInOrder() {
+        String plan = planOf(() -> transactionRepository.findOlderThan(user, END, 100L, Limit.of(21)));
+        assertThat(plan).contains(USER_DATE).contains("INDEX SORTED");
+    }
+
+    @Test
+    void findNewerThanUsesUserDateIndex() {
+        assertThat(planOf(() -> transactionRepository.findNewerThan(user, START, 100L, Limit.of(21))))
+                .contains(USER_DATE);
+    }
+
+    @Test
+    void findByUserAndDateRangeUsesUserDateIndex() {
+        assertThat(planOf(() -> transactionRepository.findByUserAndDateRange(user, START, END)))
+                .contains(USER_DATE);
+    }
+
+    @Test
+    void findByUserAndTypeUsesUserTypeDateIndex() {
+        assertThat(planOf(() -> transactionRepository.findByUserAndType(user, Transaction.TransactionType.DESPESA)))
+                .contains(USER_TYPE_DATE);
+    }
+
+    @Test
+    void findByUserAndCategoryUsesUserCategoryDateIndex() {
+        assertThat(planOf(() -> transactionRepository.findByUserAndCategory(user, category.getId())))
+                .contains(USER_CATEGORY_DATE);
+    }
+
+    @Test
+    void totalsByTypeUseUserTypeDateIndex() {
+        assertThat(planOf(() -> transactionRepository.calculateTotalIncome(user))).contains(USER_TYPE_DATE);
+        assertThat(planOf(() -> transactionRepository.calculateExpensesByPeriod(user, START, END)))
+                .contains(USER_TYPE_DATE);
+    }
+
+    /**
+     * Consultas que leem todas as linhas do usuário podem usar qualquer índice iniciado por user_id,
+     * desde que não percorram a tabela inteira
+     */
+    @Test
+    void fullUserReadsUseAnIndexOnUserId() {
+        assertThat(planOf(() -> transactionRepository.sumByCategory(user, START, END))).containsPattern(USER_LOOKUP);
+        assertThat(planOf(() -> transactionRepository.summarizeByMonth(user))).containsPattern(USER_LOOKUP);
+        assertThat(planOf(() -> consume(transactionRepository.streamColumns(user.getId()))))
+                .containsPattern(USER_LOOKUP);
+        assertThat(planOf(() -> consume(transactionRepository.streamForExport(user, START, END, null))))
+                .containsPattern(USER_LOOKUP);
+    }
+
+    /**
+     * Executa a consulta, captura o SQL gerado para a tabela transactions e retorna o seu plano
+     */
+    private String planOf(Runnable query) {
+        recorder.statements.clear();
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.executeWithoutResult(status -> query.run());
+
+        List<String> captured = recorder.statements.stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).contains("from transactions"))
+                .toList();
+        assertThat(captured).as("SQL da consulta").hasSize(1);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + captured.get(0), String.class);
+        return plan == null ? "" : plan.toUpperCase(Locale.ROOT);
+    }
+
+    private static void consume(Stream<?> stream) {
+        try (stream) {
+            stream.forEach(row -> { });
+        }
+    }
+
+    /**
+     * StatementInspector que, além de contar, guarda o SQL de cada comando
+     */
+    static class RecordingStatementCounter extends StatementCounter {
+
+        final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return super.inspect(sql);
+        }
+    }
+
+    @TestConfiguration
+    static class RecordingConfig {
+
+        @Bean
+        @Primary
+        RecordingStatementCounter recordingStatementCounter() {
+            return new RecordingStatementCounter();
+        }
+    }
+}
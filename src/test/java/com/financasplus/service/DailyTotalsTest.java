@@ -0,0 +1,115 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Transaction.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara as somas por dia com a soma ingênua das transações, montando do zero e
+ * aplicando conjuntos aleatórios de alterações
+ */
+class DailyTotalsTest {
+
+    private static final long USER = 1L;
+    private static final LocalDate BASE = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void matchesNaiveSumsAfterRandomChanges() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            List<TransactionSnapshot> current = new ArrayList<>();
+            for (int i = random.nextInt(50); i > 0; i--) {
+                current.add(randomSnapshot(random, 0, 60, 4));
+            }
+            TransactionColumns columns = build(current);
+            assertMatches(columns.dailyTotals(), current, random);
+
+            for (int step = 0; step < 30; step++) {
+                List<TransactionSnapshot> removed = new ArrayList<>();
+                for (int i = random.nextInt(4); i > 0 && !current.isEmpty(); i--) {
+                    removed.add(current.remove(random.nextInt(current.size())));
+                }
+                // Dias e categorias fora dos já cobertos ampliam as somas
+                List<TransactionSnapshot> added = new ArrayList<>();
+                for (int i = random.nextInt(4); i > 0; i--) {
+                    added.add(randomSnapshot(random, -40, 120, 8));
+                }
+                current.addAll(added);
+
+                columns = columns.withChanges(removed, added);
+                assertMatches(columns.dailyTotals(), current, random);
+                assertMatches(DailyTotals.of(columns), current, random);
+            }
+        }
+    }
+
+    @Test
+    void growsFromEmptyTotals() {
+        Random random = new Random(7);
+        DailyTotals totals = DailyTotals.of(TransactionColumns.empty());
+        List<TransactionSnapshot> added = List.of(
+                snapshot(10, 3, TransactionType.DESPESA, "12.34"),
+                snapshot(-5, 0, TransactionType.RECEITA, "100.00"));
+
+        DailyTotals updated = totals.withChanges(List.of(), added);
+
+        assertMatches(updated, added, random);
+        assertEquals(0, updated.withChanges(added, List.of()).sum(3, false, -100, 100));
+    }
+
+    private static void assertMatches(DailyTotals totals, List<TransactionSnapshot> transactions, Random random) {
+        for (int i = 0; i < 50; i++) {
+            int categoryId = random.nextInt(10);
+            boolean income = random.nextBoolean();
+            int from = (int) BASE.toEpochDay() - 60 + random.nextInt(200);
+            int to = from + random.nextInt(120) - 10;
+            assertEquals(naiveSum(transactions, categoryId, income, from, to),
+                    totals.sum(categoryId, income, from, to),
+                    "categoria " + categoryId + ", receita " + income + ", dias " + from + ".." + to);
+        }
+    }
+
+    private static long naiveSum(List<TransactionSnapshot> transactions, int categoryId, boolean income, int from, int to) {
+        long sum = 0;
+        for (TransactionSnapshot snapshot : transactions) {
+            long day = snapshot.date().toLocalDate().toEpochDay();
+            if (snapshot.categoryId() == categoryId
+                    && (snapshot.type() == TransactionType.RECEITA) == income
+                    && day >= from && day <= to) {
+                sum += Money.toCents(snapshot.amount());
+            }
+        }
+        return sum;
+    }
+
+    private static TransactionColumns build(List<TransactionSnapshot> transactions) {
+        List<TransactionSnapshot> sorted = new ArrayList<>(transactions);
+        sorted.sort(Comparator.comparing(TransactionSnapshot::date));
+        TransactionColumns.Builder builder = TransactionColumns.builder(sorted.size());
+        for (TransactionSnapshot snapshot : sorted) {
+            builder.add(snapshot.date().toLocalDate(), Money.toCents(snapshot.amount()),
+                    snapshot.categoryId(), snapshot.type());
+        }
+        return builder.build();
+    }
+
+    private static TransactionSnapshot randomSnapshot(Random random, int fromDay, int toDay, int categories) {
+        return snapshot(fromDay + random.nextInt(toDay - fromDay),
+                random.nextInt(categories),
+                random.nextBoolean() ? TransactionType.RECEITA : TransactionType.DESPESA,
+                BigDecimal.valueOf(1 + random.nextInt(100_000), 2).toPlainString());
+    }
+
+    private static TransactionSnapshot snapshot(int day, long categoryId, TransactionType type, String amount) {
+        return new TransactionSnapshot(null, USER, categoryId, type, new BigDecimal(amount),
+                BASE.plusDays(day).atTime(12, 0), "teste");
+    }
+}
@@ -0,0 +1,61 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Transaction.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataVersionServiceTest {
+
+    private final DataVersionService service = new DataVersionService();
+
+    @Test
+    void discardedKeysReportTheHighestDiscardedVersion() {
+        ReflectionTestUtils.setField(service, "maxEntries", 2);
+        YearMonth january = YearMonth.of(2024, 1);
+
+        change(1L, january);
+        long januaryVersion = service.monthVersion(1L, january);
+        change(1L, january.plusMonths(1));
+        change(1L, january.plusMonths(2));
+        assertEquals(januaryVersion, service.monthVersion(1L, january));
+
+        long februaryVersion = service.monthVersion(1L, january.plusMonths(1));
+        change(1L, january.plusMonths(3));
+        assertEquals(februaryVersion, service.monthVersion(1L, january));
+        assertEquals(februaryVersion, service.monthVersion(1L, january.plusMonths(1)));
+    }
+
+    @Test
+    void versionsNeverDecreaseWhenKeysAreDiscarded() {
+        ReflectionTestUtils.setField(service, "maxEntries", 8);
+        Random random = new Random(3);
+        Map<String, Long> seen = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            Long userId = (long) random.nextInt(10);
+            YearMonth month = YearMonth.of(2024, 1 + random.nextInt(12));
+            if (random.nextBoolean()) {
+                change(userId, month);
+            }
+            long user = service.userVersion(userId);
+            long monthVersion = service.monthVersion(userId, month);
+            assertTrue(user >= seen.getOrDefault("u" + userId, 0L));
+            assertTrue(monthVersion >= seen.getOrDefault(userId + "-" + month, 0L));
+            seen.put("u" + userId, user);
+            seen.put(userId + "-" + month, monthVersion);
+        }
+    }
+
+    private void change(Long userId, YearMonth month) {
+        service.onTransactionChanged(null, new TransactionSnapshot(null, userId, 1L, TransactionType.DESPESA,
+                BigDecimal.TEN, month.atDay(1).atStartOfDay(), "teste"));
+    }
+}
@@ -0,0 +1,34 @@
+package com.financasplus.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Validação dos valores de transação na gravação e conversão para centavos
+ */
+class MoneyTest {
+
+    @Test
+    void validAmountNormalizesToTwoDecimals() {
+        assertThat(Money.validAmount(new BigDecimal("12.5"))).isEqualTo(new BigDecimal("12.50"));
+        assertThat(Money.validAmount(new BigDecimal("12.500"))).isEqualTo(new BigDecimal("12.50"));
+        assertThat(Money.validAmount(new BigDecimal("99999999.99"))).isEqualTo(new BigDecimal("99999999.99"));
+        assertThat(Money.toCents(Money.validAmount(new BigDecimal("0.01")))).isEqualTo(1);
+    }
+
+    @Test
+    void validAmountRejectsWhatTheColumnWouldRoundOrNotHold() {
+        assertThatThrownBy(() -> Money.validAmount(new BigDecimal("0.005")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.validAmount(new BigDecimal("100000000.00")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.validAmount(BigDecimal.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.validAmount(null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,96 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Category;
+import com.financasplus.model.Transaction;
+import com.financasplus.model.User;
+import com.financasplus.repository.CategoryTotal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Totais mensais mantidos pelo RollupService em edições que trocam a chave (mês, categoria, tipo)
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:rollups")
+class RollupServiceTest {
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private User user;
+    private Category food;
+    private Category transport;
+
+    @BeforeEach
+    void createUser() {
+        String username = "rollup-" + UUID.randomUUID().toString().substring(0, 8);
+        user = userService.createUser(new User(username, "x", username + "@teste.local", "Teste Rollup"));
+        List<Category> categories = categoryService.findAll();
+        food = categories.get(0);
+        transport = categories.get(1);
+    }
+
+    @Test
+    void editIntoMonthAndCategoryWithoutRollupRow() {
+        Transaction transaction = transactionService.createTransaction(new Transaction(user, food,
+                Transaction.TransactionType.DESPESA, "Mercado", new BigDecimal("100.00"),
+                LocalDateTime.of(2026, 10, 5, 0, 0)));
+
+        transactionService.updateTransaction(transaction.getId(), edit(transport, "120.00", 2026, 9));
+
+        assertThat(rollupService.verify(user)).isTrue();
+        assertThat(totals(YearMonth.of(2026, 9))).singleElement().satisfies(total -> {
+            assertThat(total.categoryId()).isEqualTo(transport.getId());
+            assertThat(total.total()).isEqualByComparingTo("120.00");
+            assertThat(total.count()).isEqualTo(1);
+        });
+        assertThat(totals(YearMonth.of(2026, 10)))
+                .allSatisfy(total -> assertThat(total.total()).isEqualByComparingTo("0"));
+    }
+
+    @Test
+    void editWithMissingPreviousRowRebuildsWithoutCountingTwice() {
+        Transaction transaction = transactionService.createTransaction(new Transaction(user, food,
+                Transaction.TransactionType.DESPESA, "Mercado", new BigDecimal("100.00"),
+                LocalDateTime.of(2026, 10, 5, 0, 0)));
+        rollupService.deleteRollups(user.getId());
+
+        transactionService.updateTransaction(transaction.getId(), edit(transport, "80.00", 2026, 8));
+
+        assertThat(rollupService.verify(user)).isTrue();
+        assertThat(totals(YearMonth.of(2026, 8))).singleElement().satisfies(total -> {
+            assertThat(total.total()).isEqualByComparingTo("80.00");
+            assertThat(total.count()).isEqualTo(1);
+        });
+    }
+
+    private List<CategoryTotal> totals(YearMonth month) {
+        return rollupService.findCategoryTotals(user, month);
+    }
+
+    private static Transaction edit(Category category, String amount, int year, int month) {
+        Transaction details = new Transaction();
+        details.setCategory(category);
+        details.setAmount(new BigDecimal(amount));
+        details.setDate(LocalDateTime.of(year, month, 6, 0, 0));
+        return details;
+    }
+}
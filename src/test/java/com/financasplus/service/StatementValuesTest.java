@@ -0,0 +1,44 @@
+package com.financasplus.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StatementValuesTest {
+
+    @Test
+    void dotsFollowedByThreeDigitsAreThousandsSeparators() {
+        assertEquals(new BigDecimal("1234"), StatementValues.parseAmount("1.234"));
+        assertEquals(new BigDecimal("-1234567"), StatementValues.parseAmount("R$ -1.234.567"));
+        assertEquals(new BigDecimal("1234.56"), StatementValues.parseAmount("1.234,56"));
+        assertEquals(new BigDecimal("1234.56"), StatementValues.parseAmount("1,234.56"));
+        assertEquals(new BigDecimal("12.50"), StatementValues.parseAmount("12.50"));
+        assertEquals(new BigDecimal("0.500"), StatementValues.parseAmount("0.500"));
+        assertNull(StatementValues.parseAmount("abc"));
+    }
+
+    @Test
+    void invalidAmountsBecomeLineErrors() {
+        assertEquals(new BigDecimal("-10.00"), StatementValues.amount(3, "-10"));
+        assertEquals(new BigDecimal("0.50"), StatementValues.amount(3, "0.500"));
+
+        StatementLineException scale = assertThrows(StatementLineException.class,
+                () -> StatementValues.amount(4, "10,555"));
+        assertEquals(4, scale.getRow());
+        assertThrows(StatementLineException.class, () -> StatementValues.amount(5, "123.456.789.012"));
+        assertThrows(StatementLineException.class, () -> StatementValues.amount(6, "0,00"));
+    }
+
+    @Test
+    void datesOutsideTheSupportedRangeBecomeLineErrors() {
+        assertEquals(LocalDate.of(2024, 3, 1), StatementValues.date(2, LocalDate.of(2024, 3, 1), "01/03/2024"));
+        assertThrows(StatementLineException.class, () -> StatementValues.date(3, null, "31/02/2024"));
+        assertThrows(StatementLineException.class, () -> StatementValues.date(4, LocalDate.of(1, 1, 1), "00010101"));
+        assertThrows(StatementLineException.class, () -> StatementValues.date(5, LocalDate.of(9999, 12, 31), "99991231"));
+    }
+}
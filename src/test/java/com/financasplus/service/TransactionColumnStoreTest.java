@@ -0,0 +1,101 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Category;
+import com.financasplus.model.Transaction;
+import com.financasplus.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cargas das colunas concorrentes com escritas ainda não aplicadas (afterCommit pendente) e
+ * o limite de memória do cache com as somas por dia
+ */
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:columnstore", "financas.columns.max-rows=1000"})
+class TransactionColumnStoreTest {
+
+    @Autowired
+    private TransactionColumnStore columnStore;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void loadBetweenCommitAndAfterCommitIsNotCachedWithTheRowTwice() {
+        User user = newUser();
+        Category category = categoryService.findAll().get(0);
+        transactionService.createTransaction(transaction(user, category, "Mercado"));
+
+        // Registrada antes da escrita, esta sincronização roda depois do commit e antes do afterCommit
+        // do TransactionColumnStore: a carga já enxerga a linha nova
+        AtomicInteger loadedSize = new AtomicInteger(-1);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    loadedSize.set(columnStore.columns(user.getId()).size());
+                }
+            });
+            transactionService.createTransaction(transaction(user, category, "Padaria"));
+        });
+
+        assertThat(loadedSize.get()).isEqualTo(2);
+        assertThat(columnStore.columns(user.getId()).size()).isEqualTo(2);
+    }
+
+    @Test
+    void dailyTotalsCountTowardsTheRowLimit() {
+        Category category = categoryService.findAll().get(0);
+        User narrow = newUser();
+        transactionService.createTransaction(transaction(narrow, category, "Mercado"));
+        transactionService.createTransaction(transaction(narrow, category, "Padaria", LocalDateTime.of(2026, 11, 5, 0, 0)));
+        // Vinte anos entre as transações: as somas por dia passam de mil linhas equivalentes
+        User wide = newUser();
+        transactionService.createTransaction(transaction(wide, category, "Mercado", LocalDateTime.of(2000, 1, 1, 0, 0)));
+        transactionService.createTransaction(transaction(wide, category, "Padaria"));
+
+        TransactionColumns narrowColumns = columnStore.columns(narrow.getId());
+        columnStore.dailyTotals(narrow.getId());
+        assertThat(columnStore.columns(narrow.getId())).isSameAs(narrowColumns);
+
+        TransactionColumns wideColumns = columnStore.columns(wide.getId());
+        assertThat(columnStore.columns(wide.getId())).isSameAs(wideColumns);
+        DailyTotals totals = columnStore.dailyTotals(wide.getId());
+        assertThat(totals.footprint()).isGreaterThan(1000);
+        assertThat(columnStore.columns(wide.getId())).isNotSameAs(wideColumns);
+    }
+
+    private User newUser() {
+        String username = "colunas-" + UUID.randomUUID().toString().substring(0, 8);
+        return userService.createUser(new User(username, "x", username + "@teste.local", "Teste Colunas"));
+    }
+
+    private static Transaction transaction(User user, Category category, String description) {
+        return transaction(user, category, description, LocalDateTime.of(2026, 10, 5, 0, 0));
+    }
+
+    private static Transaction transaction(User user, Category category, String description, LocalDateTime date) {
+        return new Transaction(user, category, Transaction.TransactionType.DESPESA, description,
+                new BigDecimal("10.00"), date);
+    }
+}
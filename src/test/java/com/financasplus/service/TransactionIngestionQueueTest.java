@@ -0,0 +1,261 @@
+package com.financasplus.service;
+
+import com.financasplus.model.Transaction.TransactionType;
+import com.financasplus.model.User;
+import com.financasplus.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fila de ingestão com o contexto da aplicação: validação na entrada, lotes com envios concorrentes,
+ * gravação uma a uma quando o lote falha e recusa com a fila cheia
+ * Os commits são contados por um TransactionChangeListener que roda na transação de cada lote
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ingestionqueue",
+        "financas.ingestion.capacity=" + TransactionIngestionQueueTest.CAPACITY,
+        "financas.ingestion.batch-size=" + TransactionIngestionQueueTest.BATCH_SIZE,
+        "financas.ingestion.max-wait=200ms",
+        "financas.ingestion.offer-timeout=2s"})
+class TransactionIngestionQueueTest {
+
+    static final int CAPACITY = 64;
+    static final int BATCH_SIZE = 25;
+
+    private static final long MISSING_USER = 999_999L;
+
+    @Autowired
+    private TransactionIngestionQueue queue;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CommitCounter commits;
+
+    @AfterEach
+    void releaseWriter() {
+        commits.release();
+    }
+
+    @Test
+    void rejectsWhatTheDatabaseWouldRefuseBeforeQueueing() {
+        assertInvalid("Mercado", "10.555");
+        assertInvalid("Mercado", "100000000.00");
+        assertInvalid("Mercado", "0");
+        assertInvalid("x".repeat(StatementValues.MAX_DESCRIPTION + 1), "10.00");
+        assertInvalid("Mercado", "10.00", LocalDateTime.of(9999, 12, 31, 0, 0));
+        assertInvalid("Mercado", "10.00", LocalDateTime.of(1, 1, 1, 0, 0));
+    }
+
+    @Test
+    void concurrentSubmissionsShareBatchesAndEachGetsItsId() throws Exception {
+        Long userId = newUser();
+        commits.track(userId);
+        int threads = 8;
+        int perThread = 25;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<CompletableFuture<Long>>>> submitted = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                submitted.add(executor.submit(() -> {
+                    start.await();
+                    List<CompletableFuture<Long>> acks = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) {
+                        acks.add(submit(userId, "Envio " + thread + "-" + i));
+                    }
+                    return acks;
+                }));
+            }
+            start.countDown();
+
+            List<Long> ids = new ArrayList<>();
+            for (Future<List<CompletableFuture<Long>>> future : submitted) {
+                for (CompletableFuture<Long> ack : future.get(30, TimeUnit.SECONDS)) {
+                    ids.add(ack.get(30, TimeUnit.SECONDS));
+                }
+            }
+
+            int items = threads * perThread;
+            assertEquals(items, ids.stream().distinct().count());
+            for (Long id : ids) {
+                assertTrue(transactionRepository.findById(id).isPresent(), "transação " + id + " não foi gravada");
+            }
+            assertTrue(commits.count() < items, commits.count() + " commits para " + items + " transações");
+            assertTrue(commits.count() >= (items + BATCH_SIZE - 1) / BATCH_SIZE,
+                    "lote maior que financas.ingestion.batch-size");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void aRowTheDatabaseRefusesFailsOnlyItsOwnFuture() throws Exception {
+        Long userId = newUser();
+        commits.track(userId);
+
+        // Enviadas dentro do max-wait, caem no mesmo lote; o usuário inexistente derruba o lote no banco
+        List<CompletableFuture<Long>> good = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            good.add(submit(userId, "Antes " + i));
+        }
+        CompletableFuture<Long> bad = submit(MISSING_USER, "Usuário inexistente");
+        for (int i = 0; i < 5; i++) {
+            good.add(submit(userId, "Depois " + i));
+        }
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> bad.get(30, TimeUnit.SECONDS));
+        assertTrue(failure.getCause() instanceof RuntimeException);
+        for (CompletableFuture<Long> ack : good) {
+            assertTrue(transactionRepository.findById(ack.get(30, TimeUnit.SECONDS)).isPresent());
+        }
+        // Depois da falha do lote, cada transação é gravada na sua própria transação
+        assertEquals(good.size(), commits.count());
+    }
+
+    @Test
+    void refusesWhenTheQueueStaysFull() throws Exception {
+        Long userId = newUser();
+        commits.track(userId);
+        commits.hold();
+
+        // O primeiro lote prende a thread de gravação dentro da sua transação
+        List<CompletableFuture<Long>> acks = new ArrayList<>();
+        acks.add(submit(userId, "Primeira"));
+        assertTrue(commits.awaitHeld());
+        for (int i = 0; i < CAPACITY; i++) {
+            acks.add(submit(userId, "Na fila " + i));
+        }
+        assertEquals(CAPACITY, queue.size());
+        assertThrows(RejectedExecutionException.class, () -> submit(userId, "Sem espaço"));
+
+        commits.release();
+        for (CompletableFuture<Long> ack : acks) {
+            assertTrue(transactionRepository.findById(ack.get(30, TimeUnit.SECONDS)).isPresent());
+        }
+    }
+
+    private CompletableFuture<Long> submit(Long userId, String description) {
+        return queue.submit(userId, 1L, TransactionType.DESPESA, description, new BigDecimal("10.00"),
+                LocalDateTime.of(2026, 10, 5, 0, 0));
+    }
+
+    private Long newUser() {
+        String username = "fila-" + UUID.randomUUID().toString().substring(0, 8);
+        return userService.createUser(new User(username, "x", username + "@teste.local", "Teste Fila")).getId();
+    }
+
+    private void assertInvalid(String description, String amount) {
+        assertInvalid(description, amount, LocalDateTime.now());
+    }
+
+    private void assertInvalid(String description, String amount, LocalDateTime date) {
+        assertThrows(IllegalArgumentException.class, () -> queue.submit(1L, 1L, TransactionType.DESPESA,
+                description, new BigDecimal(amount), date));
+    }
+
+    @TestConfiguration
+    static class CommitCounterConfig {
+
+        @Bean
+        CommitCounter commitCounter() {
+            return new CommitCounter();
+        }
+    }
+
+    /**
+     * Conta os commits de lotes com transações do usuário acompanhado e, depois de hold(),
+     * prende a thread de gravação no próximo lote até release()
+     */
+    static class CommitCounter implements TransactionChangeListener {
+
+        private final AtomicInteger count = new AtomicInteger();
+        private volatile Long userId;
+        private volatile CountDownLatch held;
+        private volatile CountDownLatch gate;
+
+        void track(Long userId) {
+            this.userId = userId;
+            count.set(0);
+        }
+
+        int count() {
+            return count.get();
+        }
+
+        void hold() {
+            held = new CountDownLatch(1);
+            gate = new CountDownLatch(1);
+        }
+
+        boolean awaitHeld() throws InterruptedException {
+            return held.await(10, TimeUnit.SECONDS);
+        }
+
+        void release() {
+            CountDownLatch current = gate;
+            gate = null;
+            if (current != null) {
+                current.countDown();
+            }
+        }
+
+        @Override
+        public void onTransactionChanged(TransactionSnapshot before, TransactionSnapshot after) {
+            onTransactionsCreated(after != null ? List.of(after) : List.of());
+        }
+
+        @Override
+        public void onTransactionsCreated(List<TransactionSnapshot> created) {
+            if (created.stream().noneMatch(snapshot -> snapshot.userId().equals(userId))) {
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    count.incrementAndGet();
+                }
+            });
+            CountDownLatch current = gate;
+            if (current != null) {
+                held.countDown();
+                try {
+                    current.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}